@@ -15,6 +15,7 @@ import {
 } from 'lucide-react';
 import React, { useEffect, useState } from 'react';
 import { useNavigate } from 'react-router-dom';
+import { CursorPage, fetchAllPages } from '../../utils/cursorPage';
 
 // Updated Driver interface based on the actual API response
 interface Driver {
@@ -107,17 +108,32 @@ const Drivers: React.FC = () => {
         return;
       }
       
-      const response = await fetch(API_BASE, {
-        method: 'GET',
-        headers: {
-          'Content-Type': 'application/json',
-          'Accept': '*/*',
-          'Authorization': `Bearer ${token}`
+      // Follow the cursor through every page
+      let unauthorized = false;
+      const allDrivers = await fetchAllPages<Driver>(async (query) => {
+        const response = await fetch(`${API_BASE}?${query}`, {
+          method: 'GET',
+          headers: {
+            'Content-Type': 'application/json',
+            'Accept': '*/*',
+            'Authorization': `Bearer ${token}`
+          }
+        });
+        
+        // Handle unauthorized response (e.g., token expired)
+        if (response.status === 401 || response.status === 403) {
+          unauthorized = true;
+          return { items: [], nextCursor: null, hasMore: false };
+        }
+        
+        if (!response.ok) {
+          throw new Error(`Error fetching drivers: ${response.statusText}`);
         }
+        
+        return (await response.json()) as CursorPage<Driver>;
       });
       
-      // Handle unauthorized response (e.g., token expired)
-      if (response.status === 401 || response.status === 403) {
+      if (unauthorized) {
         // Clear the invalid token
         localStorage.removeItem('authToken');
         
@@ -126,12 +142,7 @@ const Drivers: React.FC = () => {
         return;
       }
       
-      if (!response.ok) {
-        throw new Error(`Error fetching drivers: ${response.statusText}`);
-      }
-      
-      const data = await response.json();
-      setDrivers(data);
+      setDrivers(allDrivers);
     } catch (err) {
       setError(err instanceof Error ? err.message : 'Unknown error occurred');
       console.error('Failed to fetch drivers:', err);
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { UserPlus, RefreshCw, Edit, Trash2, Lock, AlertCircle } from 'lucide-react';
+import { CursorPage, fetchAllPages } from '../../utils/cursorPage';
 
 // Type definitions based on API schema
 interface User {
@@ -80,7 +81,9 @@ const useUserAPI = () => {
 const useUserOperations = () => {
   const { request, isLoading, error, setError } = useUserAPI();
 
-  const getAllUsers = () => request<User[]>(API_BASE);
+  // Every user, following the cursor through every page
+  const getAllUsers = () =>
+    fetchAllPages<User>((query) => request<CursorPage<User>>(`${API_BASE}?${query}`));
   
   const createUser = (user: UserDTO) => request<User>(API_BASE, 'POST', user);
   
@@ -1,6 +1,8 @@
 // ReservationsApiClient.ts
 // API client for reservations management
 
+import { CursorPage, fetchAllPages } from './cursorPage';
+
 // Define types based on the API response structure
 export interface ReservationDTO {
     id: number;
@@ -101,10 +103,12 @@ export interface ReservationDTO {
       return response;
     }
     
-    // Get all reservations
+    // Get all reservations, following the cursor through every page
     async getAllReservations(): Promise<Reservation[]> {
-      const response = await this.fetchWithAuth('/reservations');
-      const data: ReservationDTO[] = await response.json();
+      const data = await fetchAllPages<ReservationDTO>(async (query) => {
+        const response = await this.fetchWithAuth(`/reservations?${query}`);
+        return (await response.json()) as CursorPage<ReservationDTO>;
+      });
       
       // Transform DTO to our internal model
       return data.map((dto) => this.mapDtoToReservation(dto));
@@ -1,5 +1,6 @@
 import { Driver } from "../pages/admin/DriverDetails";
 import { DriverDTO } from "../pages/admin/NewDriver";
+import { CursorPage, fetchAllPages } from "./cursorPage";
 
 
 // API base URL
@@ -73,8 +74,10 @@ export const apiRequest = async <T,>(
 
 // Driver-specific API functions
 export const driverAPI = {
+  // Every driver, following the cursor through every page
   getAllDrivers: (handleAuthError?: () => void) => 
-    apiRequest<Driver[]>('/drivers', 'GET', undefined, handleAuthError),
+    fetchAllPages<Driver>((query) =>
+      apiRequest<CursorPage<Driver>>(`/drivers?${query}`, 'GET', undefined, handleAuthError)),
     
   getDriverById: (id: number, handleAuthError?: () => void) => 
     apiRequest<Driver>(`/drivers/${id}`, 'GET', undefined, handleAuthError),
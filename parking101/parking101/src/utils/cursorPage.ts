@@ -0,0 +1,27 @@
+// Shape of a keyset-paginated list response (CursorPageDTO on the backend)
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasMore: boolean;
+}
+
+// Largest page the backend serves
+export const MAX_PAGE_SIZE = 200;
+
+// Query string for one page; the first page has no cursor
+export const pageQuery = (cursor: string | null, limit: number = MAX_PAGE_SIZE): string =>
+  cursor ? `limit=${limit}&cursor=${encodeURIComponent(cursor)}` : `limit=${limit}`;
+
+// Follow nextCursor until the last page and return the items of every page in order
+export const fetchAllPages = async <T,>(
+  fetchPage: (query: string) => Promise<CursorPage<T>>
+): Promise<T[]> => {
+  const items: T[] = [];
+  let cursor: string | null = null;
+  do {
+    const page: CursorPage<T> = await fetchPage(pageQuery(cursor));
+    items.push(...page.items);
+    cursor = page.hasMore ? page.nextCursor : null;
+  } while (cursor);
+  return items;
+};
@@ -1,3 +1,5 @@
+import { CursorPage, fetchAllPages } from './cursorPage';
+
 // Define types based on the API response structure
 export interface ParkingSpotDTO {
   spotNumber: string;
@@ -62,10 +64,12 @@ class ParkingApiClient {
     return response;
   }
   
-  // Get all parking spots
+  // Get all parking spots, following the cursor through every page
   async getAllParkingSpots(): Promise<ParkingSpot[]> {
-    const response = await this.fetchWithAuth('/parking/spots');
-    const data: ParkingSpotDTO[] = await response.json();
+    const data = await fetchAllPages<ParkingSpotDTO>(async (query) => {
+      const response = await this.fetchWithAuth(`/parking/spots?${query}`);
+      return (await response.json()) as CursorPage<ParkingSpotDTO>;
+    });
     
     // Transform DTO to our internal model
     return data.map((dto, index) => this.mapDtoToSpot(dto, index));
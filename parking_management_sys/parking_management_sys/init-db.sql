@@ -2,6 +2,8 @@
 
 -- Create extensions
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
+-- Trigram matching for driver search (indexes are created by the application at startup)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
 
 -- Create initial tables if they don't exist
 -- (Note: Spring Hibernate will handle most of the schema, this is just for initial setup)
@@ -0,0 +1,33 @@
+-- One-time migration of money columns from floating point to integer minor units (cents).
+-- Run against an existing database before starting a build that maps amount_cents / total_price_cents.
+-- Safe to re-run: each step only acts while the old column still exists.
+
+BEGIN;
+
+DO $$
+BEGIN
+    IF EXISTS (SELECT FROM information_schema.columns
+               WHERE table_name = 'payment' AND column_name = 'amount') THEN
+        ALTER TABLE payment ADD COLUMN IF NOT EXISTS amount_cents BIGINT;
+        UPDATE payment SET amount_cents = ROUND(amount::numeric * 100) WHERE amount_cents IS NULL;
+        ALTER TABLE payment ALTER COLUMN amount_cents SET NOT NULL;
+        ALTER TABLE payment DROP COLUMN amount;
+    END IF;
+
+    IF EXISTS (SELECT FROM information_schema.columns
+               WHERE table_name = 'reservation' AND column_name = 'total_price') THEN
+        ALTER TABLE reservation ADD COLUMN IF NOT EXISTS total_price_cents BIGINT;
+        UPDATE reservation SET total_price_cents = ROUND(total_price::numeric * 100)
+            WHERE total_price IS NOT NULL AND total_price_cents IS NULL;
+        ALTER TABLE reservation DROP COLUMN total_price;
+    END IF;
+
+    -- Recreated by Hibernate with total_amount_cents and reseeded from payments on startup
+    IF EXISTS (SELECT FROM information_schema.columns
+               WHERE table_name = 'payment_daily_aggregate' AND column_name = 'total_amount') THEN
+        DROP TABLE payment_daily_aggregate;
+    END IF;
+END;
+$$;
+
+COMMIT;
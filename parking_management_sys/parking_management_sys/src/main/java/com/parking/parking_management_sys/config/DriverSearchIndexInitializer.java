@@ -0,0 +1,54 @@
+package com.parking.parking_management_sys.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.parking.parking_management_sys.repository.DriverRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the driver search indexes that Hibernate's schema update cannot express:
+ * a pg_trgm GIN index over DriverRepository.SEARCH_TEXT for substring search, and
+ * text_pattern_ops indexes for plate and name prefix search. Indexes are built
+ * concurrently so an existing drivers table stays writable while they build.
+ */
+@Component
+@Slf4j
+public class DriverSearchIndexInitializer implements CommandLineRunner {
+
+    private static final List<String> STATEMENTS = List.of(
+        "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_search_trgm ON drivers USING gin ((" +
+            DriverRepository.SEARCH_TEXT + ") gin_trgm_ops)",
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_plate_prefix ON drivers (license_plate text_pattern_ops)",
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_name_prefix ON drivers (lower(name) text_pattern_ops)");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${driver.search.create-indexes:true}")
+    private boolean createIndexes;
+
+    @Override
+    public void run(String... args) {
+        if (!createIndexes) {
+            return;
+        }
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                // Search still works without the indexes, only slower
+                log.warn("Could not create driver search index ({}): {}", statement,
+                        e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+}
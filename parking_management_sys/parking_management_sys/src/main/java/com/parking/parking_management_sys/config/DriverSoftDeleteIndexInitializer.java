@@ -0,0 +1,62 @@
+package com.parking.parking_management_sys.config;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates the partial indexes behind driver soft delete, which Hibernate's schema update
+ * cannot express: license plates are unique only among drivers that are not deleted, and
+ * soft-deleted drivers are found for purging without scanning live ones. The old full
+ * unique constraint on license_plate is dropped only once its replacement is valid, so
+ * plates are never left without a uniqueness guarantee.
+ */
+@Component
+@Slf4j
+public class DriverSoftDeleteIndexInitializer implements CommandLineRunner {
+
+    private static final String LIVE_PLATE_INDEX =
+        "CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS uk_driver_live_license_plate " +
+        "ON drivers (license_plate) WHERE deleted_at IS NULL";
+
+    private static final String DELETED_AT_INDEX =
+        "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_driver_deleted_at " +
+        "ON drivers (deleted_at) WHERE deleted_at IS NOT NULL";
+
+    private static final String LIVE_PLATE_INDEX_VALID =
+        "SELECT COALESCE(bool_and(i.indisvalid), false) FROM pg_index i " +
+        "JOIN pg_class c ON c.oid = i.indexrelid WHERE c.relname = 'uk_driver_live_license_plate'";
+
+    private static final String DROP_FULL_PLATE_CONSTRAINT =
+        "ALTER TABLE drivers DROP CONSTRAINT IF EXISTS uk_driver_license_plate";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        execute(LIVE_PLATE_INDEX);
+        execute(DELETED_AT_INDEX);
+        try {
+            if (Boolean.TRUE.equals(jdbcTemplate.queryForObject(LIVE_PLATE_INDEX_VALID, Boolean.class))) {
+                jdbcTemplate.execute(DROP_FULL_PLATE_CONSTRAINT);
+            } else {
+                log.warn("uk_driver_live_license_plate is missing or invalid; plates of deleted drivers stay reserved");
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not replace the license plate constraint: {}", e.getMostSpecificCause().getMessage());
+        }
+    }
+
+    private void execute(String statement) {
+        try {
+            jdbcTemplate.execute(statement);
+        } catch (DataAccessException e) {
+            log.warn("Could not create driver index ({}): {}", statement, e.getMostSpecificCause().getMessage());
+        }
+    }
+}
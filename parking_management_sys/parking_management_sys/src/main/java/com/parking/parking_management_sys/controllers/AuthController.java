@@ -1,17 +1,24 @@
 package com.parking.parking_management_sys.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import com.parking.parking_management_sys.dto.AuthLoadStatsDTO;
 import com.parking.parking_management_sys.dto.UserDTO;
 import com.parking.parking_management_sys.entities.User.UserRole;
+import com.parking.parking_management_sys.exceptions.PasswordHashingBusyException;
+import com.parking.parking_management_sys.security.BoundedPasswordEncoder;
+import com.parking.parking_management_sys.security.LoginThrottle;
 import com.parking.parking_management_sys.security.TokenProvider;
 import com.parking.parking_management_sys.services.UserService;
 
@@ -34,10 +41,27 @@ public class AuthController {
     
     @Autowired
     private TokenProvider tokenProvider;
+    
+    @Autowired
+    private LoginThrottle loginThrottle;
+    
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
 
-    @Operation(summary = "Login user", description = "Authenticates a user with username and password")
+    @Operation(summary = "Login user", description = "Authenticates a user with username and password. "
+            + "Repeated failures for a username or from an address are refused with 429 until the throttle window ends")
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        // Throttled attempts are refused before any password is hashed. Behind the load balancer the
+        // remote address is the client's, taken from X-Forwarded-For by the trusted-proxy valve
+        String address = request.getRemoteAddr();
+        long retryAfter = loginThrottle.tryAcquire(loginRequest.getUsername(), address);
+        if (retryAfter > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                    .body(new MessageResponse("Too many failed login attempts, retry later"));
+        }
+        
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(
@@ -46,22 +70,37 @@ public class AuthController {
 
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
+            // The role comes from the user just loaded from the database, not from the profile cache
             UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            UserDTO user = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            UserRole role = userDetails.getAuthorities().stream()
+                    .map(authority -> UserRole.valueOf(authority.getAuthority().substring("ROLE_".length())))
+                    .findFirst()
+                    .orElseThrow(() -> new RuntimeException("User has no role"));
             
             // Generate token
-            String token = tokenProvider.generateToken(user.getUsername(), user.getRole().toString());
+            String token = tokenProvider.generateToken(userDetails.getUsername(), role.toString());
 
             // Create response with token
             TokenAuthResponse response = new TokenAuthResponse();
-            response.setUsername(user.getUsername());
-            response.setRole(user.getRole());
+            response.setUsername(userDetails.getUsername());
+            response.setRole(role);
             response.setToken(token);
             response.setMessage("Login successful");
 
+            loginThrottle.recordSuccess(loginRequest.getUsername(), address);
             return ResponseEntity.ok(response);
         } catch (Exception e) {
+            // The hashing pool may be saturated; that is not the user's failure
+            if (e instanceof PasswordHashingBusyException || e.getCause() instanceof PasswordHashingBusyException) {
+                loginThrottle.cancel(loginRequest.getUsername(), address);
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "1")
+                        .body(new MessageResponse("Too many authentication requests, retry later"));
+            }
+            // A wrong password keeps its reservation as a failure
+            if (!(e instanceof BadCredentialsException)) {
+                loginThrottle.cancel(loginRequest.getUsername(), address);
+            }
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(new MessageResponse("Authentication failed: " + e.getMessage()));
         }
@@ -115,6 +154,16 @@ public class AuthController {
         }
     }
 
+    @Operation(summary = "Get authentication load", description = "Returns password hashing pool usage and timings and login throttling counters since startup")
+    @GetMapping("/load")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<AuthLoadStatsDTO> getAuthLoad() {
+        AuthLoadStatsDTO stats = new AuthLoadStatsDTO();
+        passwordEncoder.fillStats(stats);
+        loginThrottle.fillStats(stats);
+        return ResponseEntity.ok(stats);
+    }
+
     @Operation(summary = "Logout user", description = "Invalidates the user's token")
     @PostMapping("/logout")
     public ResponseEntity<?> logout(HttpServletRequest request) {
@@ -1,11 +1,27 @@
 package com.parking.parking_management_sys.controllers;
 
+import com.parking.parking_management_sys.dto.CacheStatsDTO;
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.DriverDTO;
+import com.parking.parking_management_sys.dto.DriverOverviewDTO;
+import com.parking.parking_management_sys.dto.DuplicateReportDTO;
+import com.parking.parking_management_sys.dto.ImportReportDTO;
+import com.parking.parking_management_sys.dto.PlateMatchDTO;
 import com.parking.parking_management_sys.entities.Driver;
+import com.parking.parking_management_sys.entities.DriverSummary;
+import com.parking.parking_management_sys.services.DriverDeduplicationService;
+import com.parking.parking_management_sys.services.DriverDeletionService;
+import com.parking.parking_management_sys.services.DriverImportService;
+import com.parking.parking_management_sys.services.DriverOverviewService;
+import com.parking.parking_management_sys.services.DriverPlateCacheService;
 import com.parking.parking_management_sys.services.DriverService;
+import com.parking.parking_management_sys.services.DriverSummaryService;
+import com.parking.parking_management_sys.services.PlateTypeaheadService;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.util.RecordFormat;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -20,6 +36,8 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -35,6 +53,27 @@ public class DriverController {
     @Autowired
     private DriverService driverService;
 
+    @Autowired
+    private DriverImportService driverImportService;
+
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+
+    @Autowired
+    private PlateTypeaheadService plateTypeaheadService;
+
+    @Autowired
+    private DriverOverviewService driverOverviewService;
+
+    @Autowired
+    private DriverDeletionService driverDeletionService;
+
+    @Autowired
+    private DriverDeduplicationService driverDeduplicationService;
+
+    @Autowired
+    private DriverPlateCacheService driverPlateCacheService;
+
     @Operation(summary = "Register a new driver", description = "Creates a new driver record in the system")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "201", description = "Driver successfully registered", 
@@ -52,13 +91,30 @@ public class DriverController {
         return new ResponseEntity<>(driverService.registerDriver(driverDTO), HttpStatus.CREATED);
     }
 
-    @Operation(summary = "Get all drivers", description = "Returns a list of all registered drivers")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved the list of drivers", 
-            content = @Content(schema = @Schema(implementation = DriverDTO.class)))
+    @Operation(summary = "Import drivers", description = "Registers drivers in bulk from a CSV (with header) or NDJSON upload "
+            + "with fields name, licensePlate, phoneNumber, email and active, and reports the outcome of every row")
+    @ApiResponse(responseCode = "200", description = "Import processed; see the per-row report",
+            content = @Content(schema = @Schema(implementation = ImportReportDTO.class)))
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
+    public ResponseEntity<ImportReportDTO> importDrivers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(driverImportService.importDrivers(body, RecordFormat.fromContentType(contentType)));
+    }
+
+    @Operation(summary = "Get all drivers", description = "Returns one page of registered drivers in ID order; pass nextCursor back as cursor for the next page")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved the page of drivers", 
+            content = @Content(schema = @Schema(implementation = CursorPageDTO.class)))
+    @ApiResponse(responseCode = "400", description = "Invalid cursor")
     @GetMapping
     @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
-    public ResponseEntity<List<DriverDTO>> getAllDrivers() {
-        return ResponseEntity.ok(driverService.getAllDrivers());
+    public ResponseEntity<CursorPageDTO<DriverDTO>> getAllDrivers(
+            @Parameter(description = "Cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (at most 200)")
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(driverService.getAllDrivers(cursor, limit));
     }
 
     @Operation(summary = "Get driver by license plate", description = "Returns a driver based on the license plate")
@@ -114,7 +170,8 @@ public class DriverController {
         return ResponseEntity.ok(driverService.updateDriver(id, driverDTO));
     }
 
-    @Operation(summary = "Delete driver", description = "Deletes a driver based on the ID")
+    @Operation(summary = "Delete driver", description = "Soft-deletes a driver based on the ID, keeping its history; "
+            + "with hard=true the driver and all its reservations and payments are removed permanently")
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Driver successfully deleted",
                 content = @Content),
@@ -125,19 +182,40 @@ public class DriverController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Map<String, Boolean>> deleteDriver(
             @Parameter(description = "ID of the driver to delete", required = true)
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            @Parameter(description = "Remove the driver and its history permanently, also for an already soft-deleted driver")
+            @RequestParam(defaultValue = "false") boolean hard) {
+        if (hard) {
+            driverDeletionService.hardDelete(id);
+            return ResponseEntity.ok(Map.of("deleted", Boolean.TRUE));
+        }
         return ResponseEntity.ok(driverService.deleteDriver(id));
     }
 
-    @Operation(summary = "Search drivers", description = "Search for drivers by name or contact information")
+    @Operation(summary = "Search drivers", description = "Search for drivers by name, license plate or contact information, best matches first")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved matching drivers",
             content = @Content(schema = @Schema(implementation = DriverDTO.class)))
     @GetMapping("/search")
     @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
     public ResponseEntity<List<DriverDTO>> searchDrivers(
             @Parameter(description = "Search term for driver name or contact info")
-            @RequestParam(required = false) String query) {
-        return ResponseEntity.ok(driverService.searchDrivers(query));
+            @RequestParam(required = false) String query,
+            @Parameter(description = "Maximum number of results (at most 100)")
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(driverService.searchDrivers(query, limit));
+    }
+
+    @Operation(summary = "License plate typeahead", description = "Returns drivers whose plate starts with the typed prefix, ignoring case, spaces and dashes")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved matching plates",
+            content = @Content(schema = @Schema(implementation = PlateMatchDTO.class)))
+    @GetMapping("/typeahead")
+    @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
+    public ResponseEntity<List<PlateMatchDTO>> plateTypeahead(
+            @Parameter(description = "Typed plate prefix", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of matches (at most 50)")
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(plateTypeaheadService.suggest(prefix, limit));
     }
 
     @Operation(summary = "Count active drivers", description = "Returns the count of active drivers")
@@ -148,4 +226,81 @@ public class DriverController {
     public ResponseEntity<Long> countActiveDrivers() {
         return ResponseEntity.ok(driverService.countActiveDrivers());
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get driver summary", description = "Returns reservation and payment counters and lifetime spend for a driver")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Summary found",
+                content = @Content(schema = @Schema(implementation = DriverSummary.class))),
+        @ApiResponse(responseCode = "404", description = "Driver not found with the given ID",
+                content = @Content)
+    })
+    @GetMapping("/{id}/summary")
+    @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
+    public ResponseEntity<DriverSummary> getDriverSummary(
+            @Parameter(description = "ID of the driver", required = true)
+            @PathVariable Long id) {
+        return ResponseEntity.ok(driverSummaryService.getSummary(id));
+    }
+
+    @Operation(summary = "Get driver overview", description = "Returns the driver, its counters and its most recent reservations "
+            + "and payments in one call, for the driver details page")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Overview found",
+                content = @Content(schema = @Schema(implementation = DriverOverviewDTO.class))),
+        @ApiResponse(responseCode = "404", description = "Driver not found with the given ID",
+                content = @Content)
+    })
+    @GetMapping("/{id}/overview")
+    @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
+    public ResponseEntity<DriverOverviewDTO> getDriverOverview(
+            @Parameter(description = "ID of the driver", required = true)
+            @PathVariable Long id,
+            @Parameter(description = "Number of recent reservations and payments (at most 50)")
+            @RequestParam(defaultValue = "10") int recent) {
+        return ResponseEntity.ok(driverOverviewService.getOverview(id, recent));
+    }
+
+    @Operation(summary = "Get driver summaries", description = "Returns the summaries of the given drivers in one call, for list screens")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved summaries",
+            content = @Content(schema = @Schema(implementation = DriverSummary.class)))
+    @GetMapping("/summaries")
+    @PreAuthorize("hasAnyRole('STAFF', 'ADMIN')")
+    public ResponseEntity<List<DriverSummary>> getDriverSummaries(
+            @Parameter(description = "IDs of the drivers", required = true)
+            @RequestParam List<Long> ids) {
+        return ResponseEntity.ok(driverSummaryService.getSummaries(ids));
+    }
+
+    @Operation(summary = "Rebuild driver summaries", description = "Recomputes every driver summary from reservations and payments")
+    @ApiResponse(responseCode = "200", description = "Summaries rebuilt",
+            content = @Content)
+    @PostMapping("/summaries/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildDriverSummaries() {
+        return ResponseEntity.ok(Map.of("rows", driverSummaryService.rebuild()));
+    }
+
+    @Operation(summary = "Scan for duplicate drivers", description = "Finds drivers registered more than once under variants "
+            + "of the same plate, phone number or name and reports them as merge candidates, best first")
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Scan finished",
+                content = @Content(schema = @Schema(implementation = DuplicateReportDTO.class))),
+        @ApiResponse(responseCode = "409", description = "A scan is already running",
+                content = @Content)
+    })
+    @PostMapping("/duplicates/scan")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DuplicateReportDTO> scanDuplicateDrivers() {
+        return ResponseEntity.ok(driverDeduplicationService.scan());
+    }
+
+    @Operation(summary = "Plate cache statistics", description = "Returns hit, miss, negative-hit and eviction counters "
+            + "of the driver-by-plate cache since startup")
+    @ApiResponse(responseCode = "200", description = "Statistics retrieved",
+            content = @Content(schema = @Schema(implementation = CacheStatsDTO.class)))
+    @GetMapping("/plate-cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getPlateCacheStats() {
+        return ResponseEntity.ok(driverPlateCacheService.stats());
+    }
+}
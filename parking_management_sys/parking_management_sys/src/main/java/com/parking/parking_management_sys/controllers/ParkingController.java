@@ -1,5 +1,6 @@
 package com.parking.parking_management_sys.controllers;
 import org.springframework.http.HttpStatus;
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.ParkVehicleDTO;
 import com.parking.parking_management_sys.dto.ParkingSpotDTO;
 import com.parking.parking_management_sys.services.ParkingService;
@@ -22,8 +23,10 @@ public class ParkingController {
     }
 
     @GetMapping("/spots")
-    public ResponseEntity<List<ParkingSpotDTO>> getAllSpots() {
-        return ResponseEntity.ok(parkingService.getAllSpots());
+    public ResponseEntity<CursorPageDTO<ParkingSpotDTO>> getAllSpots(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(parkingService.getAllSpots(cursor, limit));
     }
 
     @GetMapping("/spots/available")
@@ -1,5 +1,6 @@
 package com.parking.parking_management_sys.controllers;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -8,14 +9,29 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.PaymentDTO;
+import com.parking.parking_management_sys.dto.PaymentProcessingStatusDTO;
+import com.parking.parking_management_sys.dto.PaymentSummaryDTO;
+import com.parking.parking_management_sys.dto.ReconciliationSummaryDTO;
+import com.parking.parking_management_sys.dto.SettlementSummaryDTO;
 import com.parking.parking_management_sys.entities.Payment;
 import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
 import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.entities.ReconciliationDiscrepancy;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.services.PaymentExportService;
+import com.parking.parking_management_sys.services.PaymentProcessingPipeline;
+import com.parking.parking_management_sys.services.PaymentReconciliationService;
 import com.parking.parking_management_sys.services.PaymentService;
+import com.parking.parking_management_sys.services.PaymentSettlementService;
+import com.parking.parking_management_sys.util.Money;
+import com.parking.parking_management_sys.util.RecordFormat;
+
+import jakarta.servlet.http.HttpServletResponse;
 @CrossOrigin(origins = "http://localhost:5173")
 @RestController
 @RequestMapping("/api/payments")
@@ -24,9 +40,23 @@ public class PaymentController {
     @Autowired
     private PaymentService paymentService;
 
+    @Autowired
+    private PaymentProcessingPipeline paymentProcessingPipeline;
+
+    @Autowired
+    private PaymentSettlementService paymentSettlementService;
+
+    @Autowired
+    private PaymentExportService paymentExportService;
+
+    @Autowired
+    private PaymentReconciliationService paymentReconciliationService;
+
     @GetMapping
-    public ResponseEntity<List<Payment>> getAllPayments() {
-        return ResponseEntity.ok(paymentService.findAll());
+    public ResponseEntity<CursorPageDTO<PaymentSummaryDTO>> getAllPayments(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(paymentService.findAll(cursor, limit));
     }
 
 
@@ -59,31 +89,31 @@ public class PaymentController {
     }
 
     @GetMapping("/driver/{driverId}")
-    public ResponseEntity<List<Payment>> findPaymentsByDriver(@PathVariable Long driverId) {
+    public ResponseEntity<List<PaymentSummaryDTO>> findPaymentsByDriver(@PathVariable Long driverId) {
         return ResponseEntity.ok(paymentService.findByDriver(driverId));
     }
 
 
     @GetMapping("/reservation/{reservationId}")
-    public ResponseEntity<List<Payment>> findPaymentsByReservation(@PathVariable Long reservationId) {
+    public ResponseEntity<List<PaymentSummaryDTO>> findPaymentsByReservation(@PathVariable Long reservationId) {
         return ResponseEntity.ok(paymentService.findByReservation(reservationId));
     }
 
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Payment>> findPaymentsByStatus(@PathVariable PaymentStatus status) {
+    public ResponseEntity<List<PaymentSummaryDTO>> findPaymentsByStatus(@PathVariable PaymentStatus status) {
         return ResponseEntity.ok(paymentService.findByStatus(status));
     }
 
 
     @GetMapping("/method/{method}")
-    public ResponseEntity<List<Payment>> findPaymentsByMethod(@PathVariable PaymentMethod method) {
+    public ResponseEntity<List<PaymentSummaryDTO>> findPaymentsByMethod(@PathVariable PaymentMethod method) {
         return ResponseEntity.ok(paymentService.findByPaymentMethod(method));
     }
 
 
     @GetMapping("/date-range")
-    public ResponseEntity<List<Payment>> findPaymentsByDateRange(
+    public ResponseEntity<List<PaymentSummaryDTO>> findPaymentsByDateRange(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date startDate,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date endDate) {
         
@@ -91,12 +121,43 @@ public class PaymentController {
     }
 
 
+    @GetMapping("/export")
+    public void exportPayments(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date endDate,
+            @RequestParam(defaultValue = "CSV") RecordFormat format,
+            HttpServletResponse response) throws IOException {
+        
+        response.setContentType(format == RecordFormat.NDJSON ? "application/x-ndjson" : "text/csv");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition",
+            "attachment; filename=\"payments." + (format == RecordFormat.NDJSON ? "ndjson" : "csv") + "\"");
+        paymentExportService.export(startDate, endDate, format, response.getOutputStream());
+    }
+
+
     @PatchMapping("/{id}/process")
     public ResponseEntity<Payment> processPayment(@PathVariable Long id) {
         return ResponseEntity.ok(paymentService.processPayment(id));
     }
 
 
+    @PatchMapping("/{id}/process-async")
+    public ResponseEntity<PaymentProcessingStatusDTO> processPaymentAsync(@PathVariable Long id) {
+        return ResponseEntity.accepted()
+            .header("Location", "/api/payments/" + id + "/processing")
+            .body(paymentProcessingPipeline.submit(id));
+    }
+
+
+    @GetMapping("/{id}/processing")
+    public ResponseEntity<PaymentProcessingStatusDTO> getProcessingStatus(@PathVariable Long id) {
+        return paymentProcessingPipeline.getStatus(id)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new ResourceNotFoundException("No processing request found for payment id: " + id));
+    }
+
+
     @PatchMapping("/{id}/refund")
     public ResponseEntity<Payment> refundPayment(@PathVariable Long id) {
         return ResponseEntity.ok(paymentService.refundPayment(id));
@@ -104,7 +165,7 @@ public class PaymentController {
 
 
     @GetMapping("/total")
-    public ResponseEntity<Double> getTotalPayments(
+    public ResponseEntity<Money> getTotalPayments(
             @RequestParam PaymentStatus status,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date startDate,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date endDate) {
@@ -113,6 +174,34 @@ public class PaymentController {
     }
 
 
+    @PostMapping("/settlement")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<SettlementSummaryDTO> settlePendingPayments() {
+        return ResponseEntity.ok(paymentSettlementService.settlePending());
+    }
+
+
+    @PostMapping("/reconciliation")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ReconciliationSummaryDTO> reconcilePayments() {
+        return ResponseEntity.ok(paymentReconciliationService.reconcile());
+    }
+
+
+    @GetMapping("/reconciliation/{runId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<ReconciliationDiscrepancy>> getReconciliationDiscrepancies(@PathVariable String runId) {
+        return ResponseEntity.ok(paymentReconciliationService.findDiscrepancies(runId));
+    }
+
+
+    @PostMapping("/aggregates/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Integer>> rebuildAggregates() {
+        return ResponseEntity.ok(Map.of("rows", paymentService.rebuildAggregates()));
+    }
+
+
     @GetMapping("/count/driver/{driverId}/status/{status}")
     public ResponseEntity<Long> countPaymentsByDriverAndStatus(
             @PathVariable Long driverId,
@@ -1,16 +1,28 @@
 package com.parking.parking_management_sys.controllers;
 
 import com.parking.parking_management_sys.entities.Reservation;
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+import com.parking.parking_management_sys.services.ReservationImportService;
 import com.parking.parking_management_sys.services.ReservationService;
+import com.parking.parking_management_sys.util.RecordFormat;
+import com.parking.parking_management_sys.dto.BulkReservationTransitionDTO;
+import com.parking.parking_management_sys.dto.BulkTransitionResultDTO;
+import com.parking.parking_management_sys.dto.ImportReportDTO;
+import com.parking.parking_management_sys.dto.ReservationSearchCriteria;
+import com.parking.parking_management_sys.dto.CursorPageDTO;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
 import com.parking.parking_management_sys.dto.ReservationDTO;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.Date;
 import java.util.List;
 import java.util.Map;
@@ -22,10 +34,15 @@ public class ReservationController {
     @Autowired
     private ReservationService reservationService;
 
+    @Autowired
+    private ReservationImportService reservationImportService;
+
 
     @GetMapping
-    public ResponseEntity<List<Reservation>> getAllReservations() {
-        return ResponseEntity.ok(reservationService.findAll());
+    public ResponseEntity<CursorPageDTO<ReservationSummaryDTO>> getAllReservations(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        return ResponseEntity.ok(reservationService.findAll(cursor, limit));
     }
 
 
@@ -44,6 +61,15 @@ public class ReservationController {
     }
 
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<ImportReportDTO> importReservations(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(reservationImportService.importReservations(
+            body, RecordFormat.fromContentType(contentType)));
+    }
+
+
     @PutMapping("/{id}")
     public ResponseEntity<Reservation> updateReservation(
             @PathVariable Long id,
@@ -60,7 +86,7 @@ public class ReservationController {
 
 
     @GetMapping("/search")
-    public ResponseEntity<List<Reservation>> findReservationsByDateRange(
+    public ResponseEntity<List<ReservationSummaryDTO>> findReservationsByDateRange(
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date startDate,
             @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss") Date endDate) {
         
@@ -68,20 +94,30 @@ public class ReservationController {
     }
 
 
+    @GetMapping("/query")
+    public ResponseEntity<CursorPageDTO<ReservationSummaryDTO>> queryReservations(
+            ReservationSearchCriteria criteria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+        
+        return ResponseEntity.ok(reservationService.search(criteria, cursor, limit));
+    }
+
+
     @GetMapping("/driver/{driverId}")
-    public ResponseEntity<List<Reservation>> findReservationsByDriver(@PathVariable Long driverId) {
+    public ResponseEntity<List<ReservationSummaryDTO>> findReservationsByDriver(@PathVariable Long driverId) {
         return ResponseEntity.ok(reservationService.findByDriverId(driverId));
     }
 
 
     @GetMapping("/spot/{spotId}")
-    public ResponseEntity<List<Reservation>> findReservationsByParkingSpot(@PathVariable Long spotId) {
+    public ResponseEntity<List<ReservationSummaryDTO>> findReservationsByParkingSpot(@PathVariable Long spotId) {
         return ResponseEntity.ok(reservationService.findByParkingSpotId(spotId));
     }
 
 
     @GetMapping("/status/{status}")
-    public ResponseEntity<List<Reservation>> findReservationsByStatus(@PathVariable String status) {
+    public ResponseEntity<List<ReservationSummaryDTO>> findReservationsByStatus(@PathVariable ReservationStatus status) {
         return ResponseEntity.ok(reservationService.findByStatus(status));
     }
     
@@ -98,6 +134,18 @@ public class ReservationController {
     }
     
 
+    @PatchMapping("/bulk/cancel")
+    public ResponseEntity<BulkTransitionResultDTO> bulkCancelReservations(@RequestBody BulkReservationTransitionDTO request) {
+        return ResponseEntity.ok(reservationService.bulkCancel(request));
+    }
+    
+
+    @PatchMapping("/bulk/complete")
+    public ResponseEntity<BulkTransitionResultDTO> bulkCompleteReservations(@RequestBody BulkReservationTransitionDTO request) {
+        return ResponseEntity.ok(reservationService.bulkComplete(request));
+    }
+    
+
     @GetMapping("/availability/{spotId}")
     public ResponseEntity<Boolean> checkAvailability(
             @PathVariable Long spotId,
@@ -1,15 +1,16 @@
 package com.parking.parking_management_sys.controllers;
 
-import java.util.List;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import com.parking.parking_management_sys.dto.CacheStatsDTO;
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.UserDTO;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.services.UserCacheService;
 import com.parking.parking_management_sys.services.UserService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -26,11 +27,18 @@ public class UserController {
     @Autowired
     private UserService userService;
 
-    @Operation(summary = "Get all users", description = "Returns list of all users")
+    @Autowired
+    private UserCacheService userCacheService;
+
+    @Operation(summary = "Get all users", description = "Returns one page of users in ID order; pass nextCursor back as cursor for the next page")
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<UserDTO>> getAllUsers() {
-        List<UserDTO> users = userService.findAll();
+    public ResponseEntity<CursorPageDTO<UserDTO>> getAllUsers(
+            @Parameter(description = "Cursor from the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size (at most 200)")
+            @RequestParam(defaultValue = "50") int limit) {
+        CursorPageDTO<UserDTO> users = userService.findAll(cursor, limit);
         return ResponseEntity.ok(users);
     }
 
@@ -71,4 +79,11 @@ public class UserController {
         userService.delete(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get user cache statistics", description = "Returns hit, miss and eviction counters of the username lookup cache since startup")
+    @GetMapping("/cache/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<CacheStatsDTO> getUserCacheStats() {
+        return ResponseEntity.ok(userCacheService.stats());
+    }
+}
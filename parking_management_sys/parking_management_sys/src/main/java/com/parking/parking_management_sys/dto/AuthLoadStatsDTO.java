@@ -0,0 +1,29 @@
+package com.parking.parking_management_sys.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Load on password hashing and login throttling since startup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthLoadStatsDTO {
+    private int hashThreads;
+    private int activeHashes;
+    private int queueDepth;
+    private int queueCapacity;
+    private long completedHashes;
+    private long rejectedHashes;
+    private long timedOutHashes;
+    private double averageHashMillis;
+    private double maxHashMillis;
+    private double averageQueueWaitMillis;
+    private int throttledUsernames;
+    private int throttledAddresses;
+    private long throttledLogins;
+}
@@ -0,0 +1,28 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Selects the reservations affected by a bulk status transition.
+ * Either an explicit id list or a filter (spot, start time range, current status) is used;
+ * when ids are given the filter fields are ignored.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkReservationTransitionDTO {
+    private List<Long> ids;
+    private Long spotId;
+    private Date startFrom;
+    private Date startTo;
+    private ReservationStatus status;
+}
@@ -0,0 +1,54 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk reservation status transition, with one entry per requested reservation
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTransitionResultDTO {
+    private ReservationStatus targetStatus;
+    private int requested;
+    private int updated;
+    private int skipped;
+    private int notFound;
+    @Builder.Default
+    private List<ItemOutcome> items = new ArrayList<>();
+
+    public enum Outcome {
+        UPDATED,
+        SKIPPED,
+        NOT_FOUND
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ItemOutcome {
+        private Long id;
+        private Outcome outcome;
+        private ReservationStatus previousStatus;
+        private String message;
+    }
+
+    public void add(ItemOutcome item) {
+        items.add(item);
+        requested++;
+        switch (item.getOutcome()) {
+            case UPDATED -> updated++;
+            case SKIPPED -> skipped++;
+            case NOT_FOUND -> notFound++;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.parking.parking_management_sys.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of an in-process cache since startup
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+    private long capacity;
+    private long size;
+    private long hits;
+    private long misses;
+    private double hitRatio;
+    private long negativeHits;
+    private long evictions;
+    private long rejections;
+}
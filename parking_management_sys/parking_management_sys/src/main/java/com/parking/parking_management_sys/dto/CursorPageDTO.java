@@ -0,0 +1,51 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import com.parking.parking_management_sys.util.KeysetCursor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Stable JSON shape for one page of a keyset-paginated list
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    /**
+     * Build a page from rows fetched with KeysetCursor.fetchLimit(limit)
+     *
+     * @param rows up to limit + 1 rows in keyset order
+     * @param key the keyset column of a row
+     * @param mapper converts a row to its response shape
+     */
+    public static <R, T> CursorPageDTO<T> of(List<R> rows, int limit, ToLongFunction<R> key, Function<R, T> mapper) {
+        return withCursor(rows, limit, row -> KeysetCursor.encode(key.applyAsLong(row)), mapper);
+    }
+
+    /**
+     * Build a page from rows fetched with KeysetCursor.fetchLimit(limit), in any keyset order
+     *
+     * @param cursor the cursor that continues after a row
+     */
+    public static <R, T> CursorPageDTO<T> withCursor(List<R> rows, int limit, Function<R, String> cursor, Function<R, T> mapper) {
+        int pageSize = KeysetCursor.clampLimit(limit);
+        boolean hasMore = rows.size() > pageSize;
+        List<R> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? cursor.apply(page.get(page.size() - 1)) : null;
+        return new CursorPageDTO<>(page.stream().map(mapper).toList(), nextCursor, hasMore);
+    }
+
+    public static <T> CursorPageDTO<T> of(List<T> rows, int limit, ToLongFunction<T> key) {
+        return of(rows, limit, key, Function.identity());
+    }
+}
@@ -21,6 +21,10 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Driver information")
 public class DriverDTO {
     
+    // Shared with the bulk import, which validates rows without going through bean validation
+    public static final String LICENSE_PLATE_REGEX = "^[A-Z0-9- ]{2,15}$";
+    
+    
     @Schema(description = "Unique identifier of the driver", example = "1")
     private Long driverId;
     
@@ -30,7 +34,7 @@ public class DriverDTO {
     private String name;
     
     @NotBlank(message = "License plate is required")
-    @Pattern(regexp = "^[A-Z0-9- ]{2,15}$", message = "License plate format is invalid")
+    @Pattern(regexp = LICENSE_PLATE_REGEX, message = "License plate format is invalid")
     @Schema(description = "Vehicle license plate number", example = "ABC123", required = true)
     private String licensePlate;
     
@@ -0,0 +1,24 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.List;
+
+import com.parking.parking_management_sys.entities.DriverSummary;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Everything the driver details page shows, assembled in one response
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DriverOverviewDTO {
+    private DriverDTO driver;
+    private DriverSummary summary;
+    private List<ReservationSummaryDTO> recentReservations;
+    private List<PaymentSummaryDTO> recentPayments;
+}
@@ -0,0 +1,30 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A pair of drivers that probably describe the same person, lower ID first
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+    private Long driverId;
+    private String name;
+    private String licensePlate;
+    private Long otherDriverId;
+    private String otherName;
+    private String otherLicensePlate;
+    private double score;
+    private Set<MatchReason> reasons;
+
+    public enum MatchReason {
+        SAME_PLATE, SAME_PHONE, SAME_EMAIL, SIMILAR_NAME
+    }
+}
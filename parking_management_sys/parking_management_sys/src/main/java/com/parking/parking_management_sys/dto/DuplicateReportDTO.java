@@ -0,0 +1,27 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a duplicate-driver scan; candidates are best first and capped at the configured maximum
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateReportDTO {
+    private Date startedAt;
+    private long durationMillis;
+    private long driversScanned;
+    private long blocks;
+    private long oversizedBlocks;
+    private long pairsScored;
+    private long candidateCount;
+    private List<DuplicateCandidateDTO> candidates;
+}
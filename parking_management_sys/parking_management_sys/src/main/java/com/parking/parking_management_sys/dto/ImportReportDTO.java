@@ -0,0 +1,45 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-row result of a bulk import
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDTO {
+    private int totalRows;
+    private int imported;
+    private int rejected;
+    @Builder.Default
+    private List<RowResult> rows = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowResult {
+        private int row;
+        private boolean imported;
+        private String message;
+    }
+
+    public void accept(int row) {
+        rows.add(new RowResult(row, true, null));
+        totalRows++;
+        imported++;
+    }
+
+    public void reject(int row, String message) {
+        rows.add(new RowResult(row, false, message));
+        totalRows++;
+        rejected++;
+    }
+}
@@ -4,6 +4,7 @@ import java.util.Date;
 
 import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
 import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.util.Money;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +17,7 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class PaymentDTO {
     private Long id;
-    private Double amount;
+    private Money amount;
     private Date paymentDate;
     private PaymentMethod paymentMethod;
     private String transactionId;
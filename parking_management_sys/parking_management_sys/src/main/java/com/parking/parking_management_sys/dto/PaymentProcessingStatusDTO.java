@@ -0,0 +1,35 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an asynchronous payment processing request
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentProcessingStatusDTO {
+    private Long paymentId;
+    private State state;
+    private String gatewayReference;
+    private String message;
+    private Date submittedAt;
+    private Date finishedAt;
+
+    public enum State {
+        QUEUED,
+        PROCESSING,
+        COMPLETED,
+        FAILED
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+}
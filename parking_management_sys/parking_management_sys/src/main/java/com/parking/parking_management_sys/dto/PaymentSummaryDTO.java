@@ -0,0 +1,44 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.util.Money;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat projection of a payment row with driver display fields (no entity graph)
+ */
+@Data
+@NoArgsConstructor
+public class PaymentSummaryDTO {
+    private Long id;
+    private Money amount;
+    private Date paymentDate;
+    private PaymentMethod paymentMethod;
+    private PaymentStatus status;
+    private String transactionId;
+    private Long driverId;
+    private String driverName;
+    private String licensePlate;
+    private Long reservationId;
+
+    // Constructor expression target for list queries, which select the amount in cents
+    public PaymentSummaryDTO(Long id, Long amountCents, Date paymentDate, PaymentMethod paymentMethod,
+                             PaymentStatus status, String transactionId, Long driverId, String driverName,
+                             String licensePlate, Long reservationId) {
+        this.id = id;
+        this.amount = Money.ofCents(amountCents);
+        this.paymentDate = paymentDate;
+        this.paymentMethod = paymentMethod;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.driverId = driverId;
+        this.driverName = driverName;
+        this.licensePlate = licensePlate;
+        this.reservationId = reservationId;
+    }
+}
@@ -0,0 +1,17 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+
+/**
+ * Closed projection of the payment fields settlement needs
+ */
+public interface PendingPaymentView {
+    Long getId();
+    Long getAmountCents();
+    PaymentMethod getPaymentMethod();
+    String getTransactionId();
+    Date getPaymentDate();
+    Long getDriverId();
+}
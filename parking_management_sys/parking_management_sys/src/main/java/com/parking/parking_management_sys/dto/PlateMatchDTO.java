@@ -0,0 +1,16 @@
+package com.parking.parking_management_sys.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead hit: just enough to show the plate and open the driver
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlateMatchDTO {
+    private Long driverId;
+    private String licensePlate;
+}
@@ -0,0 +1,31 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a payment–reservation reconciliation run; the findings themselves are stored under runId
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReconciliationSummaryDTO {
+    private String runId;
+    private Date startedAt;
+    private Date finishedAt;
+    private long durationMillis;
+    private int parallelism;
+    private long reservationsChecked;
+    private long missingPayments;
+    private long paymentsNotCompleted;
+    private long amountMismatches;
+
+    public long getDiscrepancies() {
+        return missingPayments + paymentsNotCompleted + amountMismatches;
+    }
+}
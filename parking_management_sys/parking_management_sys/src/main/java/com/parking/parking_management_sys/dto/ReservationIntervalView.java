@@ -0,0 +1,12 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+/**
+ * Closed projection of the time window a reservation occupies on a spot
+ */
+public interface ReservationIntervalView {
+    Long getSpotId();
+    Date getStartTime();
+    Date getEndTime();
+}
@@ -0,0 +1,31 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for the reservation search; null fields are not applied.
+ * Plate and driver name are prefix matches, the time range applies to the start time.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationSearchCriteria {
+    private String licensePlate;
+    private String driverName;
+    private Long spotId;
+    private ReservationStatus status;
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date from;
+    @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private Date to;
+}
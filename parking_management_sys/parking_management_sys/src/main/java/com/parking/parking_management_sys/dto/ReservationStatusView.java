@@ -0,0 +1,12 @@
+package com.parking.parking_management_sys.dto;
+
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+
+/**
+ * Closed projection of a reservation's id, current status and driver id
+ */
+public interface ReservationStatusView {
+    Long getId();
+    ReservationStatus getStatus();
+    Long getDriverId();
+}
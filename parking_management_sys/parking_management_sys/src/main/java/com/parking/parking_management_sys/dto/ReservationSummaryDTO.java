@@ -0,0 +1,43 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.Date;
+
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+import com.parking.parking_management_sys.util.Money;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat projection of a reservation row with spot and driver display fields (no entity graph)
+ */
+@Data
+@NoArgsConstructor
+public class ReservationSummaryDTO {
+    private Long id;
+    private Date startTime;
+    private Date endTime;
+    private ReservationStatus status;
+    private Long spotId;
+    private String spotNumber;
+    private Long driverId;
+    private String driverName;
+    private String licensePlate;
+    private Money totalPrice;
+
+    // Constructor expression target for list and search queries, which select the price in cents
+    public ReservationSummaryDTO(Long id, Date startTime, Date endTime, ReservationStatus status,
+                                      Long spotId, String spotNumber, Long driverId, String driverName,
+                                      String licensePlate, Long totalPriceCents) {
+        this.id = id;
+        this.startTime = startTime;
+        this.endTime = endTime;
+        this.status = status;
+        this.spotId = spotId;
+        this.spotNumber = spotNumber;
+        this.driverId = driverId;
+        this.driverName = driverName;
+        this.licensePlate = licensePlate;
+        this.totalPrice = Money.ofCents(totalPriceCents);
+    }
+}
@@ -0,0 +1,42 @@
+package com.parking.parking_management_sys.dto;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import com.parking.parking_management_sys.util.Money;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Result of a settlement run over all PENDING payments
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementSummaryDTO {
+    private Date startedAt;
+    private Date finishedAt;
+    private long durationMillis;
+    private int chunks;
+    private int scanned;
+    private int completed;
+    private int failed;
+    // Gateway errors; these payments stay PENDING and are retried by the next run
+    private int errored;
+    // Being charged by the async pipeline at the time; left to it
+    private int inProcessing;
+    // Declined payments settled or changed elsewhere meanwhile; nothing was charged, so nothing to undo
+    private int skipped;
+    // Approved charges that were not applied because the payment changed or was settled elsewhere
+    // meanwhile; the gateway took the money, so each of these must be voided
+    private int needsVoid;
+    @Builder.Default
+    private List<Long> needsVoidPaymentIds = new ArrayList<>();
+    @Builder.Default
+    private Money settledAmount = Money.ZERO;
+}
@@ -3,6 +3,9 @@ package com.parking.parking_management_sys.entities;
 import java.util.Date;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,10 +19,9 @@ import org.hibernate.annotations.UpdateTimestamp;
  * Entity representing a driver in the system
  */
 @Entity
+// Plates are unique among drivers that are not soft-deleted, through the partial unique index
+// created by DriverSoftDeleteIndexInitializer
 @Table(name = "drivers", 
-       uniqueConstraints = {
-           @UniqueConstraint(columnNames = "license_plate", name = "uk_driver_license_plate")
-       },
        indexes = {
            @Index(name = "idx_driver_license_plate", columnList = "license_plate"),
            @Index(name = "idx_driver_name", columnList = "name"),
@@ -29,6 +31,7 @@ import org.hibernate.annotations.UpdateTimestamp;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Driver {
     
     @Id
@@ -51,6 +54,11 @@ public class Driver {
     @Column(name = "active", nullable = false)
     private boolean active = true;
     
+    // Set when the driver is soft-deleted; such drivers keep their history but drop out of lookups and lists
+    @Temporal(TemporalType.TIMESTAMP)
+    @Column(name = "deleted_at")
+    private Date deletedAt;
+    
     @CreationTimestamp
     @Temporal(TemporalType.TIMESTAMP)
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -62,9 +70,11 @@ public class Driver {
     private Date updatedAt;
     
     @OneToMany(mappedBy = "driverId", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
     private List<Reservation> reservations;
     
     @OneToMany(mappedBy = "driver", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
     private List<Payment> payments;
     
     @Version
@@ -0,0 +1,107 @@
+package com.parking.parking_management_sys.entities;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+import com.parking.parking_management_sys.util.Money;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Per-driver reservation and payment counters plus lifetime spend (sum of COMPLETED payments).
+ * Kept in step with every reservation and payment mutation by DriverSummaryService; a driver
+ * without a row simply has no activity yet.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "driver_summary")
+public class DriverSummary {
+
+    @Id
+    @Column(name = "driver_id")
+    private Long driverId;
+
+    @Column(name = "reservations_pending", nullable = false)
+    private long reservationsPending;
+
+    @Column(name = "reservations_confirmed", nullable = false)
+    private long reservationsConfirmed;
+
+    @Column(name = "reservations_in_progress", nullable = false)
+    private long reservationsInProgress;
+
+    @Column(name = "reservations_completed", nullable = false)
+    private long reservationsCompleted;
+
+    @Column(name = "reservations_cancelled", nullable = false)
+    private long reservationsCancelled;
+
+    @Column(name = "payments_pending", nullable = false)
+    private long paymentsPending;
+
+    @Column(name = "payments_completed", nullable = false)
+    private long paymentsCompleted;
+
+    @Column(name = "payments_failed", nullable = false)
+    private long paymentsFailed;
+
+    @Column(name = "payments_refunded", nullable = false)
+    private long paymentsRefunded;
+
+    @Column(name = "payments_cancelled", nullable = false)
+    private long paymentsCancelled;
+
+    @Column(name = "lifetime_spend_cents", nullable = false)
+    @JsonIgnore
+    private long lifetimeSpendCents;
+
+    @Column(name = "updated_at")
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date updatedAt;
+
+    public static DriverSummary empty(Long driverId) {
+        DriverSummary summary = new DriverSummary();
+        summary.setDriverId(driverId);
+        return summary;
+    }
+
+    public Money getLifetimeSpend() {
+        return Money.ofCents(lifetimeSpendCents);
+    }
+
+    public long getTotalReservations() {
+        return reservationsPending + reservationsConfirmed + reservationsInProgress
+                + reservationsCompleted + reservationsCancelled;
+    }
+
+    public long getTotalPayments() {
+        return paymentsPending + paymentsCompleted + paymentsFailed + paymentsRefunded + paymentsCancelled;
+    }
+
+    public long reservationCount(ReservationStatus status) {
+        return switch (status) {
+            case PENDING -> reservationsPending;
+            case CONFIRMED -> reservationsConfirmed;
+            case IN_PROGRESS -> reservationsInProgress;
+            case COMPLETED -> reservationsCompleted;
+            case CANCELLED -> reservationsCancelled;
+        };
+    }
+
+    public long paymentCount(PaymentStatus status) {
+        return switch (status) {
+            case PENDING -> paymentsPending;
+            case COMPLETED -> paymentsCompleted;
+            case FAILED -> paymentsFailed;
+            case REFUNDED -> paymentsRefunded;
+            case CANCELLED -> paymentsCancelled;
+        };
+    }
+}
@@ -2,6 +2,10 @@ package com.parking.parking_management_sys.entities;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.parking.parking_management_sys.util.Money;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -13,7 +17,17 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "payment")
+@Table(name = "payment",
+       indexes = {
+           @Index(name = "idx_payment_status_date", columnList = "status, payment_date"),
+           @Index(name = "idx_payment_driver_date", columnList = "driver_id, payment_date")
+       })
+// Single-payment responses serialize the driver and the reservation with its driver
+@NamedEntityGraph(name = "Payment.details",
+                  attributeNodes = { @NamedAttributeNode("driver"),
+                                     @NamedAttributeNode(value = "reservation", subgraph = "reservation") },
+                  subgraphs = @NamedSubgraph(name = "reservation", attributeNodes = @NamedAttributeNode("driverId")))
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Payment {
     
     @Id
@@ -21,8 +35,10 @@ public class Payment {
     @Column(name = "id")
     private Long id;
     
-    @Column(name = "amount", nullable = false)
-    private Double amount;
+    // Minor units (cents); exposed as Money through getAmount()
+    @Column(name = "amount_cents", nullable = false)
+    @JsonIgnore
+    private Long amountCents;
     
     @Column(name = "payment_date", nullable = false)
     @Temporal(TemporalType.TIMESTAMP)
@@ -39,11 +55,11 @@ public class Payment {
     @Enumerated(EnumType.STRING)
     private PaymentStatus status;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driver_id", nullable = false)
     private Driver driver;
     
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "reservation_id")
     private Reservation reservation;
     
@@ -55,6 +71,14 @@ public class Payment {
     @Temporal(TemporalType.TIMESTAMP)
     private Date updatedAt;
     
+    public Money getAmount() {
+        return Money.ofCents(amountCents);
+    }
+
+    public void setAmount(Money amount) {
+        this.amountCents = amount != null ? amount.cents() : null;
+    }
+    
     @PrePersist
     protected void onCreate() {
         createdAt = new Date();
@@ -0,0 +1,52 @@
+package com.parking.parking_management_sys.entities;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running total of payments per day, status and method.
+ * Kept in step with the payment table by PaymentAggregateService and rebuilt from scratch nightly.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "payment_daily_aggregate")
+public class PaymentDailyAggregate {
+
+    @EmbeddedId
+    private Key id;
+
+    @Column(name = "total_amount_cents", nullable = false)
+    private Long totalAmountCents;
+
+    @Column(name = "payment_count", nullable = false)
+    private Long paymentCount;
+
+    @Embeddable
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Column(name = "payment_day", nullable = false)
+        private LocalDate paymentDay;
+
+        @Column(name = "status", nullable = false)
+        @Enumerated(EnumType.STRING)
+        private PaymentStatus status;
+
+        @Column(name = "payment_method", nullable = false)
+        @Enumerated(EnumType.STRING)
+        private PaymentMethod paymentMethod;
+    }
+}
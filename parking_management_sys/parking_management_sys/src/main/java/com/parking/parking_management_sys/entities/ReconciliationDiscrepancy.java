@@ -0,0 +1,75 @@
+package com.parking.parking_management_sys.entities;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.parking.parking_management_sys.util.Money;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One finding of a payment–reservation reconciliation run.
+ * Rows are written in batches by PaymentReconciliationService and grouped by run id.
+ */
+@Entity
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "reconciliation_discrepancy",
+       indexes = {
+           @Index(name = "idx_reconciliation_run_reservation", columnList = "run_id, reservation_id")
+       })
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "run_id", nullable = false, length = 36)
+    private String runId;
+
+    @Column(name = "reservation_id", nullable = false)
+    private Long reservationId;
+
+    @Column(name = "payment_id")
+    private Long paymentId;
+
+    @Column(name = "type", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private DiscrepancyType type;
+
+    @Column(name = "expected_amount_cents")
+    @JsonIgnore
+    private Long expectedAmountCents;
+
+    @Column(name = "actual_amount_cents")
+    @JsonIgnore
+    private Long actualAmountCents;
+
+    @Column(name = "detected_at", nullable = false)
+    @Temporal(TemporalType.TIMESTAMP)
+    private Date detectedAt;
+
+    public Money getExpectedAmount() {
+        return Money.ofCents(expectedAmountCents);
+    }
+
+    public Money getActualAmount() {
+        return Money.ofCents(actualAmountCents);
+    }
+
+    public enum DiscrepancyType {
+        // COMPLETED reservation with no payment at all
+        MISSING_PAYMENT,
+        // Payment exists but is not COMPLETED
+        PAYMENT_NOT_COMPLETED,
+        // COMPLETED payment whose amount differs from the reservation price
+        AMOUNT_MISMATCH
+    }
+}
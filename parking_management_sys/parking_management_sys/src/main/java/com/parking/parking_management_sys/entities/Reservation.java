@@ -3,6 +3,9 @@ package com.parking.parking_management_sys.entities;
 import java.util.Date;
 
 import com.fasterxml.jackson.annotation.JsonBackReference;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.parking.parking_management_sys.util.Money;
 
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -15,7 +18,17 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "reservation")
+@Table(name = "reservation",
+       indexes = {
+           @Index(name = "idx_reservation_spot_start", columnList = "spot_id, start_time"),
+           @Index(name = "idx_reservation_driver_start", columnList = "driver_id, start_time"),
+           @Index(name = "idx_reservation_status_start", columnList = "status, start_time"),
+           @Index(name = "idx_reservation_start", columnList = "start_time")
+       })
+// Single-reservation responses need the spot and driver; lists use projections instead
+@NamedEntityGraph(name = "Reservation.details",
+                  attributeNodes = { @NamedAttributeNode("spot"), @NamedAttributeNode("driverId") })
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Reservation {
 
     @Id
@@ -36,12 +49,12 @@ public class Reservation {
     private ReservationStatus status;
 
     // In Reservation entity
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "spot_id", nullable = false)
     @JsonBackReference
     private ParkingSpot spot; // Changed from spotId to spot
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "driver_id", nullable = false)
     private Driver driverId;
 
@@ -53,8 +66,18 @@ public class Reservation {
     @Temporal(TemporalType.TIMESTAMP)
     private Date updatedAt;
 
-    @Column(name = "total_price")
-    private Double totalPrice;
+    // Minor units (cents); exposed as Money through getTotalPrice()
+    @Column(name = "total_price_cents")
+    @JsonIgnore
+    private Long totalPriceCents;
+
+    public Money getTotalPrice() {
+        return Money.ofCents(totalPriceCents);
+    }
+
+    public void setTotalPrice(Money totalPrice) {
+        this.totalPriceCents = totalPrice != null ? totalPrice.cents() : null;
+    }
 
     @PrePersist
     protected void onCreate() {
@@ -0,0 +1,13 @@
+package com.parking.parking_management_sys.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class OperationInProgressException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public OperationInProgressException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.parking.parking_management_sys.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class PaymentQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PaymentQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,41 @@
+package com.parking.parking_management_sys.gateway;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stand-in gateway that approves charges after a configurable delay.
+ * Useful for local runs and for measuring the processing pipeline under realistic round-trip times.
+ */
+@Component
+public class LocalPaymentGateway implements PaymentGateway {
+
+    private final long latencyMillis;
+    private final double declineRate;
+
+    public LocalPaymentGateway(
+            @Value("${payment.gateway.local.latency-ms:0}") long latencyMillis,
+            @Value("${payment.gateway.local.decline-rate:0.0}") double declineRate) {
+        this.latencyMillis = latencyMillis;
+        this.declineRate = declineRate;
+    }
+
+    @Override
+    public ChargeResult charge(ChargeRequest request) {
+        if (latencyMillis > 0) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return new ChargeResult(false, null, "Gateway call interrupted");
+            }
+        }
+        if (declineRate > 0 && ThreadLocalRandom.current().nextDouble() < declineRate) {
+            return new ChargeResult(false, null, "Declined by gateway");
+        }
+        return new ChargeResult(true, "GW-" + UUID.randomUUID().toString().substring(0, 12).toUpperCase(), null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.parking.parking_management_sys.gateway;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.util.Money;
+
+/**
+ * External payment processor. Implementations are called outside any database transaction.
+ */
+public interface PaymentGateway {
+
+    ChargeResult charge(ChargeRequest request);
+
+    record ChargeRequest(Long paymentId, Money amount, PaymentMethod paymentMethod, String transactionId) {
+    }
+
+    record ChargeResult(boolean approved, String reference, String message) {
+    }
+}
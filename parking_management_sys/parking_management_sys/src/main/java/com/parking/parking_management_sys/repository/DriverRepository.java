@@ -2,11 +2,13 @@ package com.parking.parking_management_sys.repository;
 
 import com.parking.parking_management_sys.entities.Driver;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
@@ -18,20 +20,38 @@ import java.util.Optional;
 public interface DriverRepository extends JpaRepository<Driver, Long> {
     
     /**
-     * Find a driver by license plate
+     * Lower-cased concatenation of the searchable columns. The trigram index created by
+     * DriverSearchIndexInitializer is built on exactly this expression, so queries must repeat it verbatim.
+     */
+    String SEARCH_TEXT = "lower(name || ' ' || license_plate || ' ' || phone_number || ' ' || coalesce(email, ''))";
+    
+    
+    /**
+     * Find a driver that has not been soft-deleted by ID
+     * 
+     * @param driverId The driver ID
+     * @return Optional containing the driver if found
+     */
+    Optional<Driver> findByDriverIdAndDeletedAtIsNull(Long driverId);
+    
+    /**
+     * Find a driver by license plate, ignoring soft-deleted drivers
      * 
      * @param licensePlate The license plate to search for
      * @return Optional containing the driver if found
      */
-    Optional<Driver> findByLicensePlate(String licensePlate);
+    @Query("SELECT d FROM Driver d WHERE d.licensePlate = :licensePlate AND d.deletedAt IS NULL")
+    Optional<Driver> findByLicensePlate(@Param("licensePlate") String licensePlate);
     
     /**
-     * Check if a driver exists with the given license plate
+     * Check if a driver that has not been soft-deleted uses the given license plate.
+     * Matches the partial unique index uk_driver_live_license_plate.
      * 
      * @param licensePlate The license plate to check
      * @return true if a driver exists with this license plate
      */
-    boolean existsByLicensePlate(String licensePlate);
+    @Query("SELECT COUNT(d) > 0 FROM Driver d WHERE d.licensePlate = :licensePlate AND d.deletedAt IS NULL")
+    boolean existsByLicensePlate(@Param("licensePlate") String licensePlate);
     
     /**
      * Count active drivers
@@ -41,17 +61,79 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
     long countByActiveTrue();
     
     /**
-     * Search for drivers by various fields
+     * Ranked substring search served by the trigram index on SEARCH_TEXT.
+     * Exact and prefix plate matches come first, then name prefixes, then by word similarity.
+     * Patterns use backslash escapes, PostgreSQL's default LIKE escape character.
      * 
-     * @param query The search query
-     * @return List of matching drivers
+     * @param query The lower-cased search text
+     * @param pattern LIKE pattern for the substring match on SEARCH_TEXT
+     * @param plate The upper-cased query, for plate matches
+     * @param platePrefix LIKE pattern for a plate prefix match
+     * @param namePrefix LIKE pattern for a lower-cased name prefix match
+     * @param limit Maximum number of drivers to return
+     * @return Best matching drivers, best first
      */
-    @Query("SELECT d FROM Driver d WHERE " +
-           "LOWER(d.name) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(d.licensePlate) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "LOWER(d.phoneNumber) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-           "(d.email IS NOT NULL AND LOWER(d.email) LIKE LOWER(CONCAT('%', :query, '%')))")
-    List<Driver> searchDrivers(@Param("query") String query);
+    @Query(value = "SELECT * FROM drivers d WHERE " + SEARCH_TEXT + " LIKE :pattern AND deleted_at IS NULL " +
+                   "ORDER BY CASE WHEN license_plate = :plate THEN 0 " +
+                   "WHEN license_plate LIKE :platePrefix THEN 1 " +
+                   "WHEN lower(name) LIKE :namePrefix THEN 2 ELSE 3 END, " +
+                   "word_similarity(:query, " + SEARCH_TEXT + ") DESC, driver_id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Driver> searchRanked(
+            @Param("query") String query,
+            @Param("pattern") String pattern,
+            @Param("plate") String plate,
+            @Param("platePrefix") String platePrefix,
+            @Param("namePrefix") String namePrefix,
+            @Param("limit") int limit);
+    
+    /**
+     * Prefix search on plate and name for queries too short to form a trigram,
+     * served by the text_pattern_ops indexes on license_plate and lower(name)
+     * 
+     * @param platePrefix LIKE pattern for a plate prefix match
+     * @param namePrefix LIKE pattern for a lower-cased name prefix match
+     * @param limit Maximum number of drivers to return
+     * @return Matching drivers, plate matches first
+     */
+    @Query(value = "SELECT * FROM drivers d " +
+                   "WHERE (license_plate LIKE :platePrefix OR lower(name) LIKE :namePrefix) AND deleted_at IS NULL " +
+                   "ORDER BY CASE WHEN license_plate LIKE :platePrefix THEN 0 ELSE 1 END, name, driver_id " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Driver> searchByPrefix(
+            @Param("platePrefix") String platePrefix,
+            @Param("namePrefix") String namePrefix,
+            @Param("limit") int limit);
+    
+    /**
+     * First drivers in id order, for an empty search
+     * 
+     * @param limit Maximum number of drivers to return
+     * @return Drivers ordered by ID
+     */
+    List<Driver> findByDeletedAtIsNullOrderByDriverIdAsc(Limit limit);
+    
+    /**
+     * Keyset page of drivers after the given ID
+     * 
+     * @param afterId ID of the last driver on the previous page
+     * @param limit Maximum number of drivers to return
+     * @return Drivers ordered by ID
+     */
+    List<Driver> findByDeletedAtIsNullAndDriverIdGreaterThanOrderByDriverIdAsc(Long afterId, Limit limit);
+    
+    /**
+     * IDs of drivers soft-deleted before the given date, oldest first,
+     * served by the partial index idx_driver_deleted_at
+     * 
+     * @param before Cut-off for the deletion date
+     * @param limit Maximum number of IDs to return
+     * @return IDs of soft-deleted drivers
+     */
+    @Query("SELECT d.driverId FROM Driver d WHERE d.deletedAt < :before ORDER BY d.deletedAt")
+    List<Long> findDeletedBefore(@Param("before") Date before, Limit limit);
     
     /**
      * Find active drivers
@@ -82,4 +164,31 @@ public interface DriverRepository extends JpaRepository<Driver, Long> {
      */
     @Query("SELECT d.driverId, COUNT(r.id) FROM Driver d LEFT JOIN Reservation r ON r.driverId = d WHERE d.active = true GROUP BY d.driverId")
     List<Object[]> countReservationsByDriver();
-}
\ No newline at end of file
+    
+    /**
+     * Resolve which of the given license plates are held by drivers that are not soft-deleted, in a single query
+     * 
+     * @param licensePlates The normalized license plates to check
+     * @return The subset of plates that exist
+     */
+    @Query("SELECT d.licensePlate FROM Driver d WHERE d.licensePlate IN :licensePlates AND d.deletedAt IS NULL")
+    List<String> findExistingLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
+    
+    /**
+     * IDs of the drivers that are not soft-deleted with the given license plates, as [driverId, licensePlate] pairs
+     * 
+     * @param licensePlates The normalized license plates to resolve
+     * @return One pair per registered plate
+     */
+    @Query("SELECT d.driverId, d.licensePlate FROM Driver d WHERE d.licensePlate IN :licensePlates AND d.deletedAt IS NULL")
+    List<Object[]> findIdsByLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
+    
+    /**
+     * Resolve which of the given driver IDs exist and are not soft-deleted, in a single query
+     * 
+     * @param ids The driver IDs to check
+     * @return The subset of IDs that exist
+     */
+    @Query("SELECT d.driverId FROM Driver d WHERE d.driverId IN :ids AND d.deletedAt IS NULL")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,93 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.parking.parking_management_sys.entities.DriverSummary;
+
+@Repository
+public interface DriverSummaryRepository extends JpaRepository<DriverSummary, Long> {
+
+    // Add deltas to one driver's counters, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO driver_summary (driver_id, reservations_pending, reservations_confirmed, " +
+                   "reservations_in_progress, reservations_completed, reservations_cancelled, payments_pending, " +
+                   "payments_completed, payments_failed, payments_refunded, payments_cancelled, lifetime_spend_cents, " +
+                   "updated_at) " +
+                   "VALUES (:driverId, :rPending, :rConfirmed, :rInProgress, :rCompleted, :rCancelled, " +
+                   ":pPending, :pCompleted, :pFailed, :pRefunded, :pCancelled, :spendCents, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (driver_id) DO UPDATE SET " +
+                   "reservations_pending = driver_summary.reservations_pending + EXCLUDED.reservations_pending, " +
+                   "reservations_confirmed = driver_summary.reservations_confirmed + EXCLUDED.reservations_confirmed, " +
+                   "reservations_in_progress = driver_summary.reservations_in_progress + EXCLUDED.reservations_in_progress, " +
+                   "reservations_completed = driver_summary.reservations_completed + EXCLUDED.reservations_completed, " +
+                   "reservations_cancelled = driver_summary.reservations_cancelled + EXCLUDED.reservations_cancelled, " +
+                   "payments_pending = driver_summary.payments_pending + EXCLUDED.payments_pending, " +
+                   "payments_completed = driver_summary.payments_completed + EXCLUDED.payments_completed, " +
+                   "payments_failed = driver_summary.payments_failed + EXCLUDED.payments_failed, " +
+                   "payments_refunded = driver_summary.payments_refunded + EXCLUDED.payments_refunded, " +
+                   "payments_cancelled = driver_summary.payments_cancelled + EXCLUDED.payments_cancelled, " +
+                   "lifetime_spend_cents = driver_summary.lifetime_spend_cents + EXCLUDED.lifetime_spend_cents, " +
+                   "updated_at = EXCLUDED.updated_at",
+           nativeQuery = true)
+    int addDelta(
+            @Param("driverId") Long driverId,
+            @Param("rPending") long reservationsPending,
+            @Param("rConfirmed") long reservationsConfirmed,
+            @Param("rInProgress") long reservationsInProgress,
+            @Param("rCompleted") long reservationsCompleted,
+            @Param("rCancelled") long reservationsCancelled,
+            @Param("pPending") long paymentsPending,
+            @Param("pCompleted") long paymentsCompleted,
+            @Param("pFailed") long paymentsFailed,
+            @Param("pRefunded") long paymentsRefunded,
+            @Param("pCancelled") long paymentsCancelled,
+            @Param("spendCents") long spendCents);
+
+    List<DriverSummary> findByDriverIdIn(Collection<Long> driverIds);
+
+    // Blocks incremental updates until the rebuild transaction commits
+    @Modifying
+    @Query(value = "LOCK TABLE driver_summary IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM driver_summary", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO driver_summary (driver_id, reservations_pending, reservations_confirmed, " +
+                   "reservations_in_progress, reservations_completed, reservations_cancelled, payments_pending, " +
+                   "payments_completed, payments_failed, payments_refunded, payments_cancelled, lifetime_spend_cents, " +
+                   "updated_at) " +
+                   "SELECT d.driver_id, " +
+                   "COALESCE(r.pending, 0), COALESCE(r.confirmed, 0), COALESCE(r.in_progress, 0), " +
+                   "COALESCE(r.completed, 0), COALESCE(r.cancelled, 0), " +
+                   "COALESCE(p.pending, 0), COALESCE(p.completed, 0), COALESCE(p.failed, 0), " +
+                   "COALESCE(p.refunded, 0), COALESCE(p.cancelled, 0), COALESCE(p.spend_cents, 0), CURRENT_TIMESTAMP " +
+                   "FROM drivers d " +
+                   "LEFT JOIN (SELECT driver_id, " +
+                   "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending, " +
+                   "COUNT(*) FILTER (WHERE status = 'CONFIRMED') AS confirmed, " +
+                   "COUNT(*) FILTER (WHERE status = 'IN_PROGRESS') AS in_progress, " +
+                   "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed, " +
+                   "COUNT(*) FILTER (WHERE status = 'CANCELLED') AS cancelled " +
+                   "FROM reservation GROUP BY driver_id) r ON r.driver_id = d.driver_id " +
+                   "LEFT JOIN (SELECT driver_id, " +
+                   "COUNT(*) FILTER (WHERE status = 'PENDING') AS pending, " +
+                   "COUNT(*) FILTER (WHERE status = 'COMPLETED') AS completed, " +
+                   "COUNT(*) FILTER (WHERE status = 'FAILED') AS failed, " +
+                   "COUNT(*) FILTER (WHERE status = 'REFUNDED') AS refunded, " +
+                   "COUNT(*) FILTER (WHERE status = 'CANCELLED') AS cancelled, " +
+                   "SUM(amount_cents) FILTER (WHERE status = 'COMPLETED') AS spend_cents " +
+                   "FROM payment GROUP BY driver_id) p ON p.driver_id = d.driver_id " +
+                   "WHERE r.driver_id IS NOT NULL OR p.driver_id IS NOT NULL",
+           nativeQuery = true)
+    int rebuildFromActivity();
+}
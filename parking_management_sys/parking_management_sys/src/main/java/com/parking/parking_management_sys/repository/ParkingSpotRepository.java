@@ -1,9 +1,13 @@
 package com.parking.parking_management_sys.repository;
 
 import com.parking.parking_management_sys.entities.ParkingSpot;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,4 +16,8 @@ public interface ParkingSpotRepository extends JpaRepository<ParkingSpot, Long>
     List<ParkingSpot> findByStatus(ParkingSpot.SpotStatus status);
     Optional<ParkingSpot> findBySpotNumber(String spotNumber);
     Optional<ParkingSpot> findByCurrentVehicle(String licensePlate);
+    List<ParkingSpot> findBySpotIdGreaterThanOrderBySpotIdAsc(Long afterId, Limit limit);
+
+    @Query("SELECT s.spotId FROM ParkingSpot s WHERE s.spotId IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,54 @@
+package com.parking.parking_management_sys.repository;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.entities.PaymentDailyAggregate;
+
+@Repository
+public interface PaymentDailyAggregateRepository extends JpaRepository<PaymentDailyAggregate, PaymentDailyAggregate.Key> {
+
+    // Add a delta to one aggregate row, creating it on first use
+    @Modifying
+    @Query(value = "INSERT INTO payment_daily_aggregate (payment_day, status, payment_method, total_amount_cents, payment_count) " +
+                   "VALUES (:day, :status, :method, :amountCents, :count) " +
+                   "ON CONFLICT (payment_day, status, payment_method) DO UPDATE SET " +
+                   "total_amount_cents = payment_daily_aggregate.total_amount_cents + EXCLUDED.total_amount_cents, " +
+                   "payment_count = payment_daily_aggregate.payment_count + EXCLUDED.payment_count",
+           nativeQuery = true)
+    int addDelta(
+            @Param("day") LocalDate day,
+            @Param("status") String status,
+            @Param("method") String method,
+            @Param("amountCents") long amountCents,
+            @Param("count") long count);
+
+    @Query("SELECT SUM(a.totalAmountCents) FROM PaymentDailyAggregate a " +
+           "WHERE a.id.status = :status AND a.id.paymentDay BETWEEN :fromDay AND :toDay")
+    Long sumTotalAmountCents(
+            @Param("status") PaymentStatus status,
+            @Param("fromDay") LocalDate fromDay,
+            @Param("toDay") LocalDate toDay);
+
+    // Blocks incremental updates until the rebuild transaction commits
+    @Modifying
+    @Query(value = "LOCK TABLE payment_daily_aggregate IN EXCLUSIVE MODE", nativeQuery = true)
+    void lockForRebuild();
+
+    @Modifying
+    @Query(value = "DELETE FROM payment_daily_aggregate", nativeQuery = true)
+    int deleteAllRows();
+
+    @Modifying
+    @Query(value = "INSERT INTO payment_daily_aggregate (payment_day, status, payment_method, total_amount_cents, payment_count) " +
+                   "SELECT CAST(p.payment_date AS DATE), p.status, p.payment_method, SUM(p.amount_cents), COUNT(*) " +
+                   "FROM payment p GROUP BY CAST(p.payment_date AS DATE), p.status, p.payment_method",
+           nativeQuery = true)
+    int rebuildFromPayments();
+}
@@ -2,12 +2,18 @@ package com.parking.parking_management_sys.repository;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.parking.parking_management_sys.dto.PaymentSummaryDTO;
+import com.parking.parking_management_sys.dto.PendingPaymentView;
 import com.parking.parking_management_sys.entities.Driver;
 import com.parking.parking_management_sys.entities.Payment;
 import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
@@ -15,7 +21,41 @@ import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
 import com.parking.parking_management_sys.entities.Reservation;
 
 @Repository
-public interface PaymentRepository extends JpaRepository<Payment, Long> {
+public interface PaymentRepository extends JpaRepository<Payment, Long>, PaymentSettlementRepository {
+    
+    // Flat list rows selected in one query with the driver joined in
+    String SUMMARY_SELECT = "SELECT new com.parking.parking_management_sys.dto.PaymentSummaryDTO(" +
+        "p.id, p.amountCents, p.paymentDate, p.paymentMethod, p.status, p.transactionId, " +
+        "d.driverId, d.name, d.licensePlate, r.id) FROM Payment p JOIN p.driver d LEFT JOIN p.reservation r ";
+    
+    // Payment with its driver and reservation fetched in the same select, for single-entity responses
+    @EntityGraph("Payment.details")
+    Optional<Payment> findDetailedById(Long id);
+    
+    // Keyset page: the rows after the cursor id, read through the primary key index
+    @Query(SUMMARY_SELECT + "WHERE p.id > :afterId ORDER BY p.id")
+    List<PaymentSummaryDTO> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.driverId = :driverId ORDER BY p.paymentDate DESC")
+    List<PaymentSummaryDTO> findSummariesByDriverId(@Param("driverId") Long driverId);
+    
+    // Most recent first, served by idx_payment_driver_date
+    @Query(SUMMARY_SELECT + "WHERE d.driverId = :driverId ORDER BY p.paymentDate DESC")
+    List<PaymentSummaryDTO> findRecentSummariesByDriverId(@Param("driverId") Long driverId, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE r.id = :reservationId ORDER BY p.paymentDate DESC")
+    List<PaymentSummaryDTO> findSummariesByReservationId(@Param("reservationId") Long reservationId);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.status = :status ORDER BY p.paymentDate DESC")
+    List<PaymentSummaryDTO> findSummariesByStatus(@Param("status") PaymentStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.paymentMethod = :method ORDER BY p.paymentDate DESC")
+    List<PaymentSummaryDTO> findSummariesByPaymentMethod(@Param("method") PaymentMethod method);
+    
+    @Query(SUMMARY_SELECT + "WHERE p.paymentDate BETWEEN :startDate AND :endDate ORDER BY p.paymentDate")
+    List<PaymentSummaryDTO> findSummariesByPaymentDateBetween(
+            @Param("startDate") Date startDate,
+            @Param("endDate") Date endDate);
     
     List<Payment> findByDriver(Driver driver);
     
@@ -23,20 +63,41 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
     
     List<Payment> findByStatus(PaymentStatus status);
     
+    // Keyset chunk of payments in a status, ordered by id
+    @Query("SELECT p.id AS id, p.amountCents AS amountCents, p.paymentMethod AS paymentMethod, " +
+           "p.transactionId AS transactionId, p.paymentDate AS paymentDate, p.driver.driverId AS driverId " +
+           "FROM Payment p WHERE p.status = :status AND p.id > :afterId ORDER BY p.id")
+    List<PendingPaymentView> findByStatusAndIdGreaterThanOrderByIdAsc(
+            @Param("status") PaymentStatus status,
+            @Param("afterId") Long afterId,
+            Pageable chunk);
+    
     List<Payment> findByPaymentMethod(PaymentMethod paymentMethod);
     
     List<Payment> findByTransactionId(String transactionId);
     
     List<Payment> findByPaymentDateBetween(Date startDate, Date endDate);
     
-    @Query("SELECT SUM(p.amount) FROM Payment p WHERE p.status = :status AND p.paymentDate BETWEEN :startDate AND :endDate")
-    Double calculateTotalAmountByStatusAndDateRange(
+    // Sum in cents
+    @Query("SELECT SUM(p.amountCents) FROM Payment p WHERE p.status = :status AND p.paymentDate BETWEEN :startDate AND :endDate")
+    Long calculateTotalAmountByStatusAndDateRange(
             @Param("status") PaymentStatus status,
             @Param("startDate") Date startDate,
             @Param("endDate") Date endDate);
     
+    // Sum in cents
+    @Query("SELECT SUM(p.amountCents) FROM Payment p WHERE p.status = :status AND p.paymentDate >= :from AND p.paymentDate < :to")
+    Long sumAmountByStatusInHalfOpenRange(
+            @Param("status") PaymentStatus status,
+            @Param("from") Date from,
+            @Param("to") Date to);
+    
     @Query("SELECT COUNT(p) FROM Payment p WHERE p.driver = :driver AND p.status = :status")
     Long countByDriverAndStatus(
             @Param("driver") Driver driver, 
             @Param("status") PaymentStatus status);
-}
\ No newline at end of file
+    
+    // Lock one row until the transaction ends, so a read-modify-write on it cannot interleave with another
+    @Query(value = "SELECT id FROM payment WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+}
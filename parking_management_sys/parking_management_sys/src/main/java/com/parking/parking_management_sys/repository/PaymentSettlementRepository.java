@@ -0,0 +1,29 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.parking.parking_management_sys.dto.PendingPaymentView;
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+
+/**
+ * Custom fragment of {@link PaymentRepository} for settling payments exactly as they were charged
+ */
+public interface PaymentSettlementRepository {
+
+    /**
+     * A payment as it was when its status moved
+     */
+    record SettledPayment(Long id, Long amountCents, PaymentMethod paymentMethod, Date paymentDate, Long driverId) {
+    }
+
+    /**
+     * Move the given payments from PENDING to the target status, but only those still PENDING with the
+     * amount, driver, method and date they were charged with
+     *
+     * @return the rows that moved, with their values as of the update
+     */
+    List<SettledPayment> settleIfUnchanged(Collection<PendingPaymentView> charged, PaymentStatus target);
+}
@@ -0,0 +1,76 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.parking.parking_management_sys.dto.PendingPaymentView;
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+/**
+ * Native implementation of the settlement update.
+ * The charged values are joined in as a VALUES list, so one set-based UPDATE matches each row against
+ * its own amount, driver, method and date; a payment edited while its charge was in flight no longer
+ * matches and is left PENDING. RETURNING hands back the moved rows, so the caller's aggregate deltas
+ * are taken from the rows as they were updated rather than from an earlier read.
+ */
+class PaymentSettlementRepositoryImpl implements PaymentSettlementRepository {
+
+    private static final int COLUMNS = 5;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SettledPayment> settleIfUnchanged(Collection<PendingPaymentView> charged, PaymentStatus target) {
+        if (charged.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder sql = new StringBuilder("UPDATE payment p SET status = ?1, updated_at = now() FROM (VALUES ");
+        int position = 2;
+        for (int i = 0; i < charged.size(); i++) {
+            sql.append(i == 0 ? "" : ", ")
+               .append("(CAST(?").append(position++).append(" AS bigint), ")
+               .append("CAST(?").append(position++).append(" AS bigint), ")
+               .append("CAST(?").append(position++).append(" AS bigint), ")
+               .append("CAST(?").append(position++).append(" AS varchar), ")
+               .append("CAST(?").append(position++).append(" AS timestamp))");
+        }
+        sql.append(") AS c(id, amount_cents, driver_id, payment_method, payment_date) ")
+           .append("WHERE p.id = c.id AND p.status = 'PENDING' AND p.amount_cents = c.amount_cents ")
+           .append("AND p.driver_id = c.driver_id AND p.payment_method = c.payment_method ")
+           .append("AND p.payment_date = c.payment_date ")
+           .append("RETURNING p.id, p.amount_cents, p.payment_method, p.payment_date, p.driver_id");
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        query.setParameter(1, target.name());
+        position = 2;
+        for (PendingPaymentView payment : charged) {
+            query.setParameter(position, payment.getId());
+            query.setParameter(position + 1, payment.getAmountCents());
+            query.setParameter(position + 2, payment.getDriverId());
+            query.setParameter(position + 3, payment.getPaymentMethod().name());
+            query.setParameter(position + 4, payment.getPaymentDate());
+            position += COLUMNS;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<SettledPayment> settled = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            settled.add(new SettledPayment(
+                    ((Number) row[0]).longValue(),
+                    ((Number) row[1]).longValue(),
+                    PaymentMethod.valueOf((String) row[2]),
+                    (Date) row[3],
+                    ((Number) row[4]).longValue()));
+        }
+        return settled;
+    }
+}
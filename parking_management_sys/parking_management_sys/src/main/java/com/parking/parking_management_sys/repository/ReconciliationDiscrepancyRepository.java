@@ -0,0 +1,14 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.parking.parking_management_sys.entities.ReconciliationDiscrepancy;
+
+@Repository
+public interface ReconciliationDiscrepancyRepository extends JpaRepository<ReconciliationDiscrepancy, Long> {
+
+    List<ReconciliationDiscrepancy> findByRunIdOrderByReservationIdAsc(String runId);
+}
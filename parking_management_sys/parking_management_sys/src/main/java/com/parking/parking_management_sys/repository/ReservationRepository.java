@@ -1,19 +1,59 @@
 package com.parking.parking_management_sys.repository;
 
 import com.parking.parking_management_sys.entities.Reservation;
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
 import com.parking.parking_management_sys.entities.ParkingSpot;
+import com.parking.parking_management_sys.dto.ReservationIntervalView;
+import com.parking.parking_management_sys.dto.ReservationStatusView;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
 import com.parking.parking_management_sys.entities.Driver;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationSearchRepository {
+    
+    // Flat list rows selected in one query with the spot and driver joined in
+    String SUMMARY_SELECT = "SELECT new com.parking.parking_management_sys.dto.ReservationSummaryDTO(" +
+        "r.id, r.startTime, r.endTime, r.status, s.spotId, s.spotNumber, d.driverId, d.name, d.licensePlate, " +
+        "r.totalPriceCents) FROM Reservation r JOIN r.spot s JOIN r.driverId d ";
+    
+    // Reservation with its spot and driver fetched in the same select, for single-entity responses
+    @EntityGraph("Reservation.details")
+    Optional<Reservation> findDetailedById(Long id);
+    
+    // Keyset page: the rows after the cursor id, read through the primary key index
+    @Query(SUMMARY_SELECT + "WHERE r.id > :afterId ORDER BY r.id")
+    List<ReservationSummaryDTO> findSummariesAfter(@Param("afterId") Long afterId, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE d.driverId = :driverId ORDER BY r.startTime DESC")
+    List<ReservationSummaryDTO> findSummariesByDriverId(@Param("driverId") Long driverId);
+    
+    // Most recent first, served by idx_reservation_driver_start
+    @Query(SUMMARY_SELECT + "WHERE d.driverId = :driverId ORDER BY r.startTime DESC")
+    List<ReservationSummaryDTO> findRecentSummariesByDriverId(@Param("driverId") Long driverId, Limit limit);
+    
+    @Query(SUMMARY_SELECT + "WHERE s.spotId = :spotId ORDER BY r.startTime DESC")
+    List<ReservationSummaryDTO> findSummariesBySpotId(@Param("spotId") Long spotId);
+    
+    @Query(SUMMARY_SELECT + "WHERE r.status = :status ORDER BY r.startTime DESC")
+    List<ReservationSummaryDTO> findSummariesByStatus(@Param("status") ReservationStatus status);
+    
+    @Query(SUMMARY_SELECT + "WHERE r.startTime BETWEEN :startDate AND :endDate ORDER BY r.startTime")
+    List<ReservationSummaryDTO> findSummariesByStartTimeBetween(
+        @Param("startDate") Date startDate,
+        @Param("endDate") Date endDate);
     
     List<Reservation> findByDriverId(Driver driver);
     
@@ -29,4 +69,47 @@ List<Reservation> findOverlappingReservations(
     @Param("parkingSpot") ParkingSpot parkingSpot,
     @Param("startTime") Date startTime,
     @Param("endTime") Date endTime);
-}
\ No newline at end of file
+
+    // Current status of each reservation in the id list (ids that don't exist are simply absent)
+    @Query("SELECT r.id AS id, r.status AS status, r.driverId.driverId AS driverId FROM Reservation r WHERE r.id IN :ids")
+    List<ReservationStatusView> findStatusByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Next keyset chunk of reservation ids matching the bulk filter; null filter values are ignored
+    @Query("SELECT r.id AS id, r.status AS status, r.driverId.driverId AS driverId FROM Reservation r WHERE r.id > :afterId " +
+           "AND (:spotId IS NULL OR r.spot.spotId = :spotId) " +
+           "AND (:startFrom IS NULL OR r.startTime >= :startFrom) " +
+           "AND (:startTo IS NULL OR r.startTime <= :startTo) " +
+           "AND (:status IS NULL OR r.status = :status) " +
+           "ORDER BY r.id")
+    List<ReservationStatusView> findStatusChunkByFilter(
+        @Param("afterId") Long afterId,
+        @Param("spotId") Long spotId,
+        @Param("startFrom") Date startFrom,
+        @Param("startTo") Date startTo,
+        @Param("status") ReservationStatus status,
+        Pageable chunk);
+
+    // Set-based status change guarded on the exact current status; returns [id, driverId] of the rows
+    // that actually moved, with the driver they had when they moved
+    @Query(value = "UPDATE reservation SET status = :target, updated_at = now() " +
+                   "WHERE id IN (:ids) AND status = :expected RETURNING id, driver_id",
+           nativeQuery = true)
+    List<Object[]> transitionStatusReturningRows(
+        @Param("ids") Collection<Long> ids,
+        @Param("expected") String expected,
+        @Param("target") String target);
+
+    // Lock one row until the transaction ends, so a read-modify-write on it cannot interleave with another
+    @Query(value = "SELECT id FROM reservation WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Optional<Long> lockById(@Param("id") Long id);
+
+    // Non-cancelled windows on any of the given spots that touch [from, to]; used to check an import batch in one query
+    @Query("SELECT r.spot.spotId AS spotId, r.startTime AS startTime, r.endTime AS endTime FROM Reservation r " +
+           "WHERE r.spot.spotId IN :spotIds AND r.status <> :excluded " +
+           "AND r.startTime <= :to AND r.endTime >= :from")
+    List<ReservationIntervalView> findIntervalsForSpots(
+        @Param("spotIds") Collection<Long> spotIds,
+        @Param("from") Date from,
+        @Param("to") Date to,
+        @Param("excluded") ReservationStatus excluded);
+}
@@ -0,0 +1,22 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+
+import com.parking.parking_management_sys.dto.ReservationSearchCriteria;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
+import com.parking.parking_management_sys.util.KeysetCursor.Position;
+
+/**
+ * Custom fragment of {@link ReservationRepository} for searches built from dynamic predicates
+ */
+public interface ReservationSearchRepository {
+
+    /**
+     * Matching reservations, latest start first, continuing after the given position
+     *
+     * @param after start time (epoch millis) and id of the last row of the previous page, or null
+     */
+    List<ReservationSummaryDTO> search(ReservationSearchCriteria criteria, Position after, Limit limit);
+}
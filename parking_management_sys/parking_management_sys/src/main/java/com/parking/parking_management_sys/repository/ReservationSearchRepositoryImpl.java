@@ -0,0 +1,104 @@
+package com.parking.parking_management_sys.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import java.util.Date;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.util.StringUtils;
+
+import com.parking.parking_management_sys.dto.ReservationSearchCriteria;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
+import com.parking.parking_management_sys.entities.Driver;
+import com.parking.parking_management_sys.entities.ParkingSpot;
+import com.parking.parking_management_sys.entities.Reservation;
+import com.parking.parking_management_sys.util.KeysetCursor.Position;
+import com.parking.parking_management_sys.util.LikePatterns;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Criteria-API implementation of the reservation search.
+ * Only the filters that are set become predicates, so each combination is served by the matching
+ * composite index on reservation (spot/driver/status + start_time). Rows are projected straight
+ * into {@link ReservationSummaryDTO} and paged by keyset on (start_time, id), so a deep page
+ * costs the same as the first and no count query runs.
+ */
+class ReservationSearchRepositoryImpl implements ReservationSearchRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ReservationSummaryDTO> search(ReservationSearchCriteria criteria, Position after, Limit limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<ReservationSummaryDTO> query = cb.createQuery(ReservationSummaryDTO.class);
+        Root<Reservation> reservation = query.from(Reservation.class);
+        Join<Reservation, ParkingSpot> spot = reservation.join("spot");
+        Join<Reservation, Driver> driver = reservation.join("driverId");
+        query.select(cb.construct(ReservationSummaryDTO.class,
+                reservation.get("id"),
+                reservation.get("startTime"),
+                reservation.get("endTime"),
+                reservation.get("status"),
+                spot.get("spotId"),
+                spot.get("spotNumber"),
+                driver.get("driverId"),
+                driver.get("name"),
+                driver.get("licensePlate"),
+                reservation.get("totalPriceCents")))
+            .where(predicates(cb, criteria, after, reservation, spot, driver))
+            .orderBy(cb.desc(reservation.get("startTime")), cb.desc(reservation.get("id")));
+
+        return entityManager.createQuery(query)
+            .setMaxResults(limit.max())
+            .getResultList();
+    }
+
+    private Predicate[] predicates(CriteriaBuilder cb, ReservationSearchCriteria criteria, Position after,
+                                   Root<Reservation> reservation, Join<Reservation, ParkingSpot> spot,
+                                   Join<Reservation, Driver> driver) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (after != null) {
+            // Rows strictly after the previous page in (start_time DESC, id DESC) order
+            Date afterStart = new Date(after.sortKey());
+            predicates.add(cb.or(
+                    cb.lessThan(reservation.get("startTime"), afterStart),
+                    cb.and(cb.equal(reservation.get("startTime"), afterStart),
+                            cb.lessThan(reservation.get("id"), after.id()))));
+        }
+        if (StringUtils.hasText(criteria.getLicensePlate())) {
+            // Plates are stored upper-cased, so a plain prefix LIKE can use the text_pattern_ops
+            // index idx_driver_plate_prefix created by DriverSearchIndexInitializer
+            predicates.add(cb.like(driver.get("licensePlate"),
+                    LikePatterns.prefix(criteria.getLicensePlate().trim().toUpperCase(Locale.ROOT)), '\\'));
+        }
+        if (StringUtils.hasText(criteria.getDriverName())) {
+            // Served by idx_driver_name_prefix on lower(name) text_pattern_ops
+            predicates.add(cb.like(cb.lower(driver.get("name")),
+                    LikePatterns.prefix(criteria.getDriverName().trim().toLowerCase(Locale.ROOT)), '\\'));
+        }
+        if (criteria.getSpotId() != null) {
+            predicates.add(cb.equal(spot.get("spotId"), criteria.getSpotId()));
+        }
+        if (criteria.getStatus() != null) {
+            predicates.add(cb.equal(reservation.get("status"), criteria.getStatus()));
+        }
+        if (criteria.getFrom() != null) {
+            predicates.add(cb.greaterThanOrEqualTo(reservation.get("startTime"), criteria.getFrom()));
+        }
+        if (criteria.getTo() != null) {
+            predicates.add(cb.lessThanOrEqualTo(reservation.get("startTime"), criteria.getTo()));
+        }
+        return predicates.toArray(Predicate[]::new);
+    }
+}
@@ -1,7 +1,9 @@
 package com.parking.parking_management_sys.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -11,4 +13,5 @@ import com.parking.parking_management_sys.entities.User;
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     boolean existsByUsername(String username);
+    List<User> findByUserIdGreaterThanOrderByUserIdAsc(Long afterId, Limit limit);
 }
\ No newline at end of file
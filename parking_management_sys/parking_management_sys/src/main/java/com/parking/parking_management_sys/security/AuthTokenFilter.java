@@ -10,6 +10,8 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+
 import java.io.IOException;
 import java.util.Collections;
 
@@ -28,13 +30,13 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String token = getTokenFromRequest(request);
             
-            if (token != null && tokenProvider.validateToken(token)) {
-                String username = tokenProvider.getUsernameFromToken(token);
-                String role = tokenProvider.getRoleFromToken(token);
-                
+            // One store lookup, or one signature check, resolves the token, its user and its role
+            TokenPrincipal principal = token != null ? tokenProvider.authenticate(token) : null;
+            if (principal != null) {
                 // Create authentication object
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-                        username, null, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role)));
+                        principal.username(), null,
+                        Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + principal.role())));
                 
                 // Set authentication in context
                 SecurityContextHolder.getContext().setAuthentication(authentication);
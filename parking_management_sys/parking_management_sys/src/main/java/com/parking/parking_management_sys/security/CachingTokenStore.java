@@ -0,0 +1,69 @@
+package com.parking.parking_management_sys.security;
+
+import com.parking.parking_management_sys.util.BoundedCache;
+
+/**
+ * Short-lived local cache in front of a shared token store, so most validations on a node
+ * never leave the process. Unknown tokens are cached as well; tokens are random, so one is
+ * never looked up before it is issued. Writes go through to the shared store and refresh
+ * this node's cache at once, while other nodes see a logout within the cache TTL. A cached
+ * token that looks expired is read again, since another node may have extended it.
+ */
+public class CachingTokenStore implements TokenStore {
+
+    // Cached in place of a token the shared store does not know
+    private static final StoredToken MISSING = new StoredToken(null, 0);
+
+    private final TokenStore delegate;
+    private final BoundedCache<String, StoredToken> cache;
+    private final long ttlMillis;
+
+    public CachingTokenStore(TokenStore delegate, int capacity, long ttlMillis) {
+        this.delegate = delegate;
+        this.cache = new BoundedCache<>(capacity);
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public void save(String token, StoredToken stored) {
+        delegate.save(token, stored);
+        cache.put(token, stored, ttlMillis);
+    }
+
+    @Override
+    public StoredToken find(String token) {
+        StoredToken cached = cache.get(token);
+        if (cached == null || (cached != MISSING && cached.expiresAtMillis() <= System.currentTimeMillis())) {
+            StoredToken stored = delegate.find(token);
+            cached = stored != null ? stored : MISSING;
+            cache.put(token, cached, ttlMillis);
+        }
+        return cached != MISSING ? cached : null;
+    }
+
+    @Override
+    public void extend(String token, long expiresAtMillis) {
+        delegate.extend(token, expiresAtMillis);
+        StoredToken cached = cache.get(token);
+        if (cached != null && cached != MISSING) {
+            cache.put(token, new StoredToken(cached.principal(), expiresAtMillis), ttlMillis);
+        }
+    }
+
+    @Override
+    public void remove(String token) {
+        delegate.remove(token);
+        cache.invalidate(token);
+    }
+
+    @Override
+    public void removeExpired(long nowMillis) {
+        // Cached entries age out on their own within the TTL
+        delegate.removeExpired(nowMillis);
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+}
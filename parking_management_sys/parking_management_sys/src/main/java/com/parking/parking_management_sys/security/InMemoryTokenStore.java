@@ -0,0 +1,93 @@
+package com.parking.parking_management_sys.security;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tokens kept in this instance's memory.
+ * Tokens live in a ConcurrentHashMap, so a lookup is lock-free. Expired tokens are reclaimed
+ * by a hashed timer wheel: each token sits in the slot of its expiry tick, and removeExpired
+ * empties the slots whose tick has passed, so cleanup cost is proportional to the tokens
+ * actually expiring rather than to all tokens. Extending a token does not touch the wheel;
+ * a token found in its old slot but not yet expired is simply moved to its new one.
+ */
+public class InMemoryTokenStore implements TokenStore {
+
+    private final long tickMillis;
+    private final ConcurrentHashMap<String, StoredToken> tokens = new ConcurrentHashMap<>();
+    private final Set<String>[] wheel;
+    private final int wheelMask;
+    // Next tick to process, counted in ticks since the epoch
+    private long nextTick;
+
+    @SuppressWarnings("unchecked")
+    public InMemoryTokenStore(long ttlMillis, long tickMillis) {
+        this.tickMillis = tickMillis;
+        // One slot per tick of the token lifetime, so a token normally waits less than one rotation
+        int slots = Integer.highestOneBit((int) Math.min(Math.max(ttlMillis / tickMillis, 1), 1 << 20) * 2 - 1) << 1;
+        this.wheel = new Set[slots];
+        for (int i = 0; i < slots; i++) {
+            wheel[i] = ConcurrentHashMap.newKeySet();
+        }
+        this.wheelMask = slots - 1;
+        this.nextTick = System.currentTimeMillis() / tickMillis;
+    }
+
+    @Override
+    public void save(String token, StoredToken stored) {
+        tokens.put(token, stored);
+        schedule(token, stored.expiresAtMillis());
+    }
+
+    @Override
+    public StoredToken find(String token) {
+        return tokens.get(token);
+    }
+
+    @Override
+    public void extend(String token, long expiresAtMillis) {
+        tokens.computeIfPresent(token, (key, stored) -> new StoredToken(stored.principal(), expiresAtMillis));
+    }
+
+    @Override
+    public void remove(String token) {
+        // The wheel entry is left behind and dropped when its slot comes round
+        tokens.remove(token);
+    }
+
+    // Process every wheel slot whose tick has fully passed since the last run
+    @Override
+    public synchronized void removeExpired(long nowMillis) {
+        long lastTick = nowMillis / tickMillis - 1;
+        // After a long pause a single rotation covers every slot
+        for (long tick = Math.max(nextTick, lastTick - wheelMask); tick <= lastTick; tick++) {
+            Set<String> slot = wheel[(int) (tick & wheelMask)];
+            List<String> due = new ArrayList<>(slot);
+            slot.removeAll(due);
+            for (String token : due) {
+                StoredToken stored = tokens.get(token);
+                if (stored == null) {
+                    continue;
+                }
+                if (stored.expiresAtMillis() <= nowMillis) {
+                    tokens.remove(token, stored);
+                } else {
+                    // Extended by sliding expiration, or due in a later rotation
+                    schedule(token, stored.expiresAtMillis());
+                }
+            }
+        }
+        nextTick = Math.max(nextTick, lastTick + 1);
+    }
+
+    @Override
+    public int size() {
+        return tokens.size();
+    }
+
+    private void schedule(String token, long expiresAtMillis) {
+        wheel[(int) ((expiresAtMillis / tickMillis) & wheelMask)].add(token);
+    }
+}
@@ -0,0 +1,98 @@
+package com.parking.parking_management_sys.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+
+/**
+ * Tokens shared by every instance through the auth_tokens table.
+ * Rows are keyed by the SHA-256 of the token, so the table never holds a usable token.
+ * Expired rows are deleted through the index on expires_at, at most once per purge interval
+ * per instance; concurrent runs on several instances only find less to do.
+ */
+public class JdbcTokenStore implements TokenStore {
+
+    private static final String CREATE_TABLE =
+        "CREATE TABLE IF NOT EXISTS auth_tokens (" +
+        "token_hash CHAR(64) PRIMARY KEY, " +
+        "username VARCHAR(255) NOT NULL, " +
+        "role VARCHAR(50) NOT NULL, " +
+        "expires_at BIGINT NOT NULL)";
+
+    private static final String CREATE_EXPIRY_INDEX =
+        "CREATE INDEX IF NOT EXISTS idx_auth_tokens_expires_at ON auth_tokens (expires_at)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final long purgeIntervalMillis;
+    private volatile long lastPurgeMillis;
+
+    public JdbcTokenStore(JdbcTemplate jdbcTemplate, long purgeIntervalMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.purgeIntervalMillis = purgeIntervalMillis;
+    }
+
+    /**
+     * Create the table and its index unless they exist
+     */
+    public void createSchema() {
+        jdbcTemplate.execute(CREATE_TABLE);
+        jdbcTemplate.execute(CREATE_EXPIRY_INDEX);
+    }
+
+    @Override
+    public void save(String token, StoredToken stored) {
+        jdbcTemplate.update("INSERT INTO auth_tokens (token_hash, username, role, expires_at) VALUES (?, ?, ?, ?)",
+                hash(token), stored.principal().username(), stored.principal().role(), stored.expiresAtMillis());
+    }
+
+    @Override
+    public StoredToken find(String token) {
+        List<StoredToken> rows = jdbcTemplate.query(
+                "SELECT username, role, expires_at FROM auth_tokens WHERE token_hash = ?",
+                (rs, rowNum) -> new StoredToken(
+                        new TokenPrincipal(rs.getString("username"), rs.getString("role")),
+                        rs.getLong("expires_at")),
+                hash(token));
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    @Override
+    public void extend(String token, long expiresAtMillis) {
+        jdbcTemplate.update("UPDATE auth_tokens SET expires_at = ? WHERE token_hash = ? AND expires_at < ?",
+                expiresAtMillis, hash(token), expiresAtMillis);
+    }
+
+    @Override
+    public void remove(String token) {
+        jdbcTemplate.update("DELETE FROM auth_tokens WHERE token_hash = ?", hash(token));
+    }
+
+    @Override
+    public void removeExpired(long nowMillis) {
+        if (nowMillis - lastPurgeMillis < purgeIntervalMillis) {
+            return;
+        }
+        lastPurgeMillis = nowMillis;
+        jdbcTemplate.update("DELETE FROM auth_tokens WHERE expires_at <= ?", nowMillis);
+    }
+
+    @Override
+    public int size() {
+        return -1;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
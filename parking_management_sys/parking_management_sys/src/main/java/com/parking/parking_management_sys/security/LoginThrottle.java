@@ -0,0 +1,135 @@
+package com.parking.parking_management_sys.security;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.parking.parking_management_sys.dto.AuthLoadStatsDTO;
+
+/**
+ * Limits login attempts per username and per client address within a fixed window.
+ * An attempt is reserved before any password is hashed, by counting it against both limits
+ * atomically, so concurrent guesses cannot all pass the check before the first one fails.
+ * Once either limit is reached further attempts are refused until the window ends.
+ * A successful login hands its reservation back and clears its username's count, but keeps
+ * its address's earlier failures, so one valid account cannot be used to keep guessing others.
+ * Addresses are the client addresses Tomcat resolves from X-Forwarded-For of trusted proxies
+ * ({@code server.forward-headers-strategy}), not the load balancer's own.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int maxFailuresPerUsername;
+    private final int maxFailuresPerAddress;
+    private final long windowMillis;
+
+    private final ConcurrentHashMap<String, Window> usernames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Window> addresses = new ConcurrentHashMap<>();
+    private final LongAdder throttled = new LongAdder();
+
+    // Attempts counted since the window started, failed or still in flight; replaced rather than reset when it ends
+    private record Window(long startMillis, int attempts) {
+    }
+
+    public LoginThrottle(
+            @Value("${auth.login.max-failures-per-username:5}") int maxFailuresPerUsername,
+            @Value("${auth.login.max-failures-per-address:20}") int maxFailuresPerAddress,
+            @Value("${auth.login.window-seconds:900}") long windowSeconds) {
+        this.maxFailuresPerUsername = maxFailuresPerUsername;
+        this.maxFailuresPerAddress = maxFailuresPerAddress;
+        this.windowMillis = TimeUnit.SECONDS.toMillis(windowSeconds);
+    }
+
+    /**
+     * Reserve a login attempt for this username from this address.
+     * Returns 0 when the attempt may go ahead and counts as a failure until released,
+     * or the seconds until one may be tried again.
+     */
+    public long tryAcquire(String username, String address) {
+        long now = System.currentTimeMillis();
+        long[] blockedUntil = new long[1];
+        usernames.compute(key(username), (key, window) -> reserve(window, maxFailuresPerUsername, now, blockedUntil));
+        if (blockedUntil[0] == 0) {
+            addresses.compute(address, (key, window) -> reserve(window, maxFailuresPerAddress, now, blockedUntil));
+            if (blockedUntil[0] != 0) {
+                release(usernames, key(username));
+            }
+        }
+        if (blockedUntil[0] == 0) {
+            return 0;
+        }
+        throttled.increment();
+        return Math.max(TimeUnit.MILLISECONDS.toSeconds(blockedUntil[0] - now), 1);
+    }
+
+    /**
+     * The reserved attempt succeeded: clear the username's failures and hand back the address's reservation
+     */
+    public void recordSuccess(String username, String address) {
+        usernames.remove(key(username));
+        release(addresses, address);
+    }
+
+    /**
+     * The reserved attempt was not a wrong password (the server was busy, for example), so it does not count
+     */
+    public void cancel(String username, String address) {
+        release(usernames, key(username));
+        release(addresses, address);
+    }
+
+    /**
+     * Copy the throttle counters into the given stats
+     */
+    public void fillStats(AuthLoadStatsDTO stats) {
+        long now = System.currentTimeMillis();
+        stats.setThrottledUsernames(countBlocked(usernames, maxFailuresPerUsername, now));
+        stats.setThrottledAddresses(countBlocked(addresses, maxFailuresPerAddress, now));
+        stats.setThrottledLogins(throttled.sum());
+    }
+
+    // Forget windows that have ended
+    @Scheduled(fixedDelayString = "${auth.login.prune-interval-ms:60000}")
+    public void pruneWindows() {
+        long cutoff = System.currentTimeMillis() - windowMillis;
+        usernames.values().removeIf(window -> window.startMillis() <= cutoff);
+        addresses.values().removeIf(window -> window.startMillis() <= cutoff);
+    }
+
+    // Count one more attempt, unless the window is already full; blockedUntil[0] is set when it is
+    private Window reserve(Window window, int maxFailures, long now, long[] blockedUntil) {
+        if (window == null || window.startMillis() + windowMillis <= now) {
+            return new Window(now, 1);
+        }
+        if (window.attempts() >= maxFailures) {
+            blockedUntil[0] = window.startMillis() + windowMillis;
+            return window;
+        }
+        return new Window(window.startMillis(), window.attempts() + 1);
+    }
+
+    // Take back one reserved attempt; a window left empty is dropped
+    private static void release(ConcurrentHashMap<String, Window> windows, String key) {
+        windows.computeIfPresent(key, (k, window) ->
+                window.attempts() > 1 ? new Window(window.startMillis(), window.attempts() - 1) : null);
+    }
+
+    private long blockedUntil(Window window, int maxFailures) {
+        return window != null && window.attempts() >= maxFailures ? window.startMillis() + windowMillis : 0;
+    }
+
+    private int countBlocked(ConcurrentHashMap<String, Window> windows, int maxFailures, long now) {
+        return (int) windows.values().stream()
+                .filter(window -> blockedUntil(window, maxFailures) > now)
+                .count();
+    }
+
+    private static String key(String username) {
+        return username != null ? username.toLowerCase(Locale.ROOT) : "";
+    }
+}
@@ -1,5 +1,6 @@
 package com.parking.parking_management_sys.security;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -34,7 +35,7 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http, DaoAuthenticationProvider authenticationProvider) throws Exception {
         http
             .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> {}) // or: .cors(Customizer.withDefaults())
@@ -57,16 +58,16 @@ public class SecurityConfig {
             // Add our custom token filter
             .addFilterBefore(new AuthTokenFilter(tokenProvider), UsernamePasswordAuthenticationFilter.class)
             // Use DaoAuthenticationProvider
-            .authenticationProvider(authenticationProvider());
+            .authenticationProvider(authenticationProvider);
 
         return http.build();
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
         return authProvider;
     }
 
@@ -75,8 +76,13 @@ public class SecurityConfig {
         return authConfiguration.getAuthenticationManager();
     }
 
+    // BCrypt runs on its own bounded pool so login storms cannot take the CPU from request threads
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${auth.password.hash-threads:0}") int hashThreads,
+            @Value("${auth.password.hash-queue-capacity:32}") int queueCapacity,
+            @Value("${auth.password.hash-timeout-millis:3000}") long timeoutMillis) {
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, timeoutMillis);
     }
 }
\ No newline at end of file
@@ -0,0 +1,89 @@
+package com.parking.parking_management_sys.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Compact HMAC-SHA256 signed tokens of the form {@code base64url(payload).base64url(signature)}.
+ * The payload is {@code expiresAtMillis:role:tokenId:username}; the username comes last because
+ * it is the only field that may itself contain a colon. Any instance holding the same secret can
+ * verify a token without shared state.
+ */
+final class SignedTokenCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /**
+     * The claims a verified token carries
+     */
+    record Claims(String tokenId, String username, String role, long expiresAtMillis) {
+    }
+
+    private final SecretKeySpec key;
+    // Mac instances are not thread-safe and costly to look up, so each thread keeps its own
+    private final ThreadLocal<Mac> macs;
+
+    SignedTokenCodec(byte[] secret) {
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    String encode(Claims claims) {
+        String payload = claims.expiresAtMillis() + ":" + claims.role() + ":" + claims.tokenId() + ":" + claims.username();
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * The claims of a well-formed token with a valid signature, or null otherwise.
+     * Expiry is left to the caller.
+     */
+    Claims decode(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return null;
+        }
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, dot));
+            signature = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        // Constant-time comparison, so the signature cannot be guessed byte by byte
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return null;
+        }
+        String[] fields = new String(payloadBytes, StandardCharsets.UTF_8).split(":", 4);
+        if (fields.length != 4) {
+            return null;
+        }
+        try {
+            return new Claims(fields[2], fields[3], fields[1], Long.parseLong(fields[0]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        return macs.get().doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
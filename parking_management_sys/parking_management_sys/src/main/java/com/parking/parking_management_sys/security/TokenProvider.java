@@ -1,70 +1,176 @@
 package com.parking.parking_management_sys.security;
 
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
+import com.parking.parking_management_sys.security.SignedTokenCodec.Claims;
+import com.parking.parking_management_sys.security.TokenStore.StoredToken;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bearer tokens in one of two modes, chosen with {@code auth.token.mode}.
+ * <p>
+ * Opaque tokens (the default) are random ids kept in a {@link TokenStore}, so validation is
+ * one store lookup plus an expiry check, and each token can be revoked individually. With
+ * sliding expiration a token's lifetime restarts whenever it is used; the store is written at
+ * most once per tick per token, so hot tokens do not turn reads into writes.
+ * <p>
+ * Signed tokens ({@code auth.token.mode=signed}) are instead HMAC-signed and carry the
+ * username, role and expiry themselves, so any instance sharing {@code auth.token.secret} verifies
+ * them with no lookup at all. Logout puts the token's id on a small revocation list until the
+ * token would have expired anyway; the list is per instance. Signed tokens do not slide.
+ */
 @Component
+@Slf4j
 public class TokenProvider {
-    
-    // In a real application, you would use a persistent store like Redis or a database
-    private final Map<String, TokenInfo> tokenStore = new HashMap<>();
-    
+
+    private final TokenStore tokenStore;
+    private final long ttlMillis;
+    private final boolean slidingExpiration;
+    private final long tickMillis;
+    // Null unless tokens are signed
+    private final SignedTokenCodec codec;
+    // Ids of signed tokens revoked by logout, with the time they expire
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * The identity a valid token stands for
+     */
+    public record TokenPrincipal(String username, String role) {
+    }
+
+    public TokenProvider(
+            TokenStore tokenStore,
+            @Value("${auth.token.ttl-minutes:30}") long ttlMinutes,
+            @Value("${auth.token.sliding-expiration:false}") boolean slidingExpiration,
+            @Value("${auth.token.wheel-tick-millis:1000}") long tickMillis,
+            @Value("${auth.token.mode:opaque}") String mode,
+            @Value("${auth.token.secret:}") String secret) {
+        this.tokenStore = tokenStore;
+        this.ttlMillis = TimeUnit.MINUTES.toMillis(ttlMinutes);
+        this.tickMillis = tickMillis;
+        if ("signed".equalsIgnoreCase(mode)) {
+            this.codec = new SignedTokenCodec(signingKey(secret));
+            this.slidingExpiration = false;
+        } else if ("opaque".equalsIgnoreCase(mode)) {
+            this.codec = null;
+            this.slidingExpiration = slidingExpiration;
+        } else {
+            throw new IllegalArgumentException("auth.token.mode must be opaque or signed, not " + mode);
+        }
+    }
+
     public String generateToken(String username, String role) {
-        // Clean expired tokens
-        cleanExpiredTokens();
-        
-        // Create a simple UUID token (in production, use a proper JWT)
+        if (codec != null) {
+            return codec.encode(new Claims(UUID.randomUUID().toString(), username, role,
+                    System.currentTimeMillis() + ttlMillis));
+        }
+
+        // Create a simple UUID token
         String token = UUID.randomUUID().toString();
-        
-        // Store token info with expiration (30 minutes from now)
-        Date expiryDate = new Date(System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(30));
-        tokenStore.put(token, new TokenInfo(username, role, expiryDate));
-        
+        tokenStore.save(token, new StoredToken(new TokenPrincipal(username, role), System.currentTimeMillis() + ttlMillis));
+
         return token;
     }
-    
+
+    /**
+     * The user and role of a valid token, or null if the token is unknown, revoked or expired.
+     * Extends the token's lifetime when sliding expiration is on.
+     */
+    public TokenPrincipal authenticate(String token) {
+        if (codec != null) {
+            Claims claims = codec.decode(token);
+            if (claims == null || claims.expiresAtMillis() <= System.currentTimeMillis()
+                    || revokedTokens.containsKey(claims.tokenId())) {
+                return null;
+            }
+            return new TokenPrincipal(claims.username(), claims.role());
+        }
+        StoredToken stored = tokenStore.find(token);
+        if (stored == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        if (stored.expiresAtMillis() <= now) {
+            // Left for the store's expiry run, which goes by the stored expiry rather than a cached one
+            return null;
+        }
+        // Only write when the lifetime moved by a tick or more, so hot tokens do not contend on the store
+        if (slidingExpiration && now + ttlMillis - stored.expiresAtMillis() >= tickMillis) {
+            tokenStore.extend(token, now + ttlMillis);
+        }
+        return stored.principal();
+    }
+
     public boolean validateToken(String token) {
-        // Clean expired tokens first
-        cleanExpiredTokens();
-        
-        TokenInfo info = tokenStore.get(token);
-        return info != null;
+        return authenticate(token) != null;
     }
-    
+
     public String getUsernameFromToken(String token) {
-        TokenInfo info = tokenStore.get(token);
-        return info != null ? info.username : null;
+        TokenPrincipal principal = authenticate(token);
+        return principal != null ? principal.username() : null;
     }
-    
+
     public String getRoleFromToken(String token) {
-        TokenInfo info = tokenStore.get(token);
-        return info != null ? info.role : null;
+        TokenPrincipal principal = authenticate(token);
+        return principal != null ? principal.role() : null;
     }
-    
+
     public void invalidateToken(String token) {
+        if (codec != null) {
+            Claims claims = codec.decode(token);
+            if (claims != null && claims.expiresAtMillis() > System.currentTimeMillis()) {
+                revokedTokens.put(claims.tokenId(), claims.expiresAtMillis());
+            }
+            return;
+        }
         tokenStore.remove(token);
     }
-    
-    private void cleanExpiredTokens() {
-        Date now = new Date();
-        tokenStore.entrySet().removeIf(entry -> entry.getValue().expiryDate.before(now));
+
+    /**
+     * Opaque tokens in the store, or -1 if the store cannot count them cheaply.
+     * Signed tokens are not tracked, so this is always 0 in signed mode.
+     */
+    public int getActiveTokenCount() {
+        return codec != null ? 0 : tokenStore.size();
     }
-    
-    // Inner class to store token information
-    private static class TokenInfo {
-        private final String username;
-        private final String role;
-        private final Date expiryDate;
-        
-        public TokenInfo(String username, String role, Date expiryDate) {
-            this.username = username;
-            this.role = role;
-            this.expiryDate = expiryDate;
+
+    public int getRevokedTokenCount() {
+        return revokedTokens.size();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.token.wheel-tick-millis:1000}")
+    public void expireTokens() {
+        long now = System.currentTimeMillis();
+        if (codec == null) {
+            tokenStore.removeExpired(now);
+        }
+        // Revocations are only needed until the token would have been rejected as expired
+        if (!revokedTokens.isEmpty()) {
+            revokedTokens.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+        }
+    }
+
+    private static byte[] signingKey(String secret) {
+        if (StringUtils.hasText(secret)) {
+            byte[] key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < 32) {
+                throw new IllegalArgumentException("auth.token.secret must be at least 32 bytes");
+            }
+            return key;
         }
+        log.warn("auth.token.secret is not set; using a random key, so tokens only verify on this instance until restart");
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,42 @@
+package com.parking.parking_management_sys.security;
+
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+
+/**
+ * Server-side storage of opaque tokens, so they can be revoked individually.
+ * TokenStoreConfig picks the implementation with {@code auth.token.store}: memory keeps tokens
+ * in this instance only, jdbc shares them between instances through the database.
+ * Expiry is checked by TokenProvider; a store only has to drop expired tokens eventually.
+ */
+public interface TokenStore {
+
+    /**
+     * A stored token's identity and the time it expires
+     */
+    record StoredToken(TokenPrincipal principal, long expiresAtMillis) {
+    }
+
+    void save(String token, StoredToken stored);
+
+    /**
+     * The stored token, or null if it is unknown or has been removed
+     */
+    StoredToken find(String token);
+
+    /**
+     * Move the expiry of a token that is still stored; used by sliding expiration
+     */
+    void extend(String token, long expiresAtMillis);
+
+    void remove(String token);
+
+    /**
+     * Drop tokens that expired before the given time
+     */
+    void removeExpired(long nowMillis);
+
+    /**
+     * Tokens currently stored, or -1 if the store cannot count them cheaply
+     */
+    int size();
+}
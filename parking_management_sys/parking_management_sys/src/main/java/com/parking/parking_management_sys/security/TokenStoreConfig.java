@@ -0,0 +1,37 @@
+package com.parking.parking_management_sys.security;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Chooses where opaque tokens are stored, with {@code auth.token.store}: memory (the default)
+ * for a single instance, jdbc to share tokens between instances behind a load balancer.
+ */
+@Configuration
+public class TokenStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.token.store", havingValue = "memory", matchIfMissing = true)
+    public TokenStore inMemoryTokenStore(
+            @Value("${auth.token.ttl-minutes:30}") long ttlMinutes,
+            @Value("${auth.token.wheel-tick-millis:1000}") long tickMillis) {
+        return new InMemoryTokenStore(TimeUnit.MINUTES.toMillis(ttlMinutes), tickMillis);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "auth.token.store", havingValue = "jdbc")
+    public TokenStore jdbcTokenStore(
+            JdbcTemplate jdbcTemplate,
+            @Value("${auth.token.jdbc.purge-interval-seconds:60}") long purgeIntervalSeconds,
+            @Value("${auth.token.cache.capacity:10000}") int cacheCapacity,
+            @Value("${auth.token.cache.ttl-millis:5000}") long cacheTtlMillis) {
+        JdbcTokenStore store = new JdbcTokenStore(jdbcTemplate, TimeUnit.SECONDS.toMillis(purgeIntervalSeconds));
+        store.createSchema();
+        return new CachingTokenStore(store, cacheCapacity, cacheTtlMillis);
+    }
+}
@@ -0,0 +1,256 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.parking.parking_management_sys.dto.DuplicateCandidateDTO;
+import com.parking.parking_management_sys.dto.DuplicateCandidateDTO.MatchReason;
+import com.parking.parking_management_sys.dto.DuplicateReportDTO;
+import com.parking.parking_management_sys.exceptions.OperationInProgressException;
+import com.parking.parking_management_sys.util.LicensePlates;
+import com.parking.parking_management_sys.util.NameMatching;
+import com.parking.parking_management_sys.util.PhoneNumbers;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds drivers that were registered more than once under spelling variants of the same plate,
+ * phone or name. Comparing every pair is quadratic, so drivers are first grouped into blocks
+ * that share a normalized plate, a normalized phone number or a phonetic name key; only pairs
+ * inside a block are scored. Blocks are formed by sorting on each key, and scored in parallel.
+ * Blocks larger than max-block-size (a very common name) are skipped and counted instead.
+ * A pair that shares several keys is scored only in the block of the first key it shares, in
+ * the order plate, phone, phonetic name, so no set of already scored pairs has to be kept.
+ */
+@Service
+@Slf4j
+public class DriverDeduplicationService {
+
+    private static final String LOAD_SQL =
+        "SELECT driver_id, name, license_plate, phone_number, email FROM drivers WHERE deleted_at IS NULL";
+
+    private static final double PLATE_WEIGHT = 0.45;
+    private static final double PHONE_WEIGHT = 0.25;
+    private static final double EMAIL_WEIGHT = 0.15;
+    private static final double NAME_WEIGHT = 0.30;
+    private static final double SIMILAR_NAME = 0.9;
+
+    // Blocking keys in the order that decides which block scores a pair sharing several of them
+    private static final List<Function<Row, String>> BLOCK_KEYS = List.of(Row::plateKey, Row::phoneKey, Row::phoneticKey);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int parallelism;
+    private final int maxBlockSize;
+    private final int maxCandidates;
+    private final double threshold;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public DriverDeduplicationService(DataSource dataSource,
+                                      @Value("${driver.dedup.fetch-size:5000}") int fetchSize,
+                                      @Value("${driver.dedup.parallelism:0}") int parallelism,
+                                      @Value("${driver.dedup.max-block-size:500}") int maxBlockSize,
+                                      @Value("${driver.dedup.max-candidates:1000}") int maxCandidates,
+                                      @Value("${driver.dedup.threshold:0.7}") double threshold) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        // 0 means one worker per core
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.maxBlockSize = maxBlockSize;
+        this.maxCandidates = maxCandidates;
+        this.threshold = threshold;
+    }
+
+    public DuplicateReportDTO scan() {
+        if (!running.compareAndSet(false, true)) {
+            throw new OperationInProgressException("A duplicate scan is already in progress");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private DuplicateReportDTO run() {
+        Date startedAt = new Date();
+        List<Row> rows = new ArrayList<>();
+        jdbcTemplate.query(LOAD_SQL, rs -> {
+            rows.add(Row.of(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5)));
+        });
+
+        List<Block> blocks = new ArrayList<>();
+        // Key values of skipped blocks, per key; a pair sharing only such a key was never scored there
+        List<Set<String>> oversizedKeys = new ArrayList<>();
+        long oversized = 0;
+        for (int kind = 0; kind < BLOCK_KEYS.size(); kind++) {
+            Set<String> skipped = new HashSet<>();
+            collectBlocks(rows, kind, blocks, skipped);
+            oversizedKeys.add(skipped);
+            oversized += skipped.size();
+        }
+
+        LongAdder scored = new LongAdder();
+        ConcurrentLinkedQueue<DuplicateCandidateDTO> found = new ConcurrentLinkedQueue<>();
+        try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+            pool.submit(() -> blocks.parallelStream().forEach(block -> scoreBlock(rows, block, oversizedKeys, scored, found)))
+                    .join();
+        }
+
+        List<DuplicateCandidateDTO> candidates = new ArrayList<>(found);
+        candidates.sort(Comparator.comparingDouble(DuplicateCandidateDTO::getScore).reversed()
+                .thenComparing(DuplicateCandidateDTO::getDriverId)
+                .thenComparing(DuplicateCandidateDTO::getOtherDriverId));
+
+        DuplicateReportDTO report = DuplicateReportDTO.builder()
+                .startedAt(startedAt)
+                .durationMillis(System.currentTimeMillis() - startedAt.getTime())
+                .driversScanned(rows.size())
+                .blocks(blocks.size())
+                .oversizedBlocks(oversized)
+                .pairsScored(scored.sum())
+                .candidateCount(candidates.size())
+                .candidates(List.copyOf(candidates.subList(0, Math.min(candidates.size(), maxCandidates))))
+                .build();
+        log.info("Duplicate scan finished: {} drivers, {} blocks ({} oversized skipped), {} pairs scored, {} candidates in {} ms",
+                report.getDriversScanned(), report.getBlocks(), report.getOversizedBlocks(), report.getPairsScored(),
+                report.getCandidateCount(), report.getDurationMillis());
+        return report;
+    }
+
+    // Sort the rows with a key by that key and turn every run of two or more equal keys into a block
+    private void collectBlocks(List<Row> rows, int kind, List<Block> blocks, Set<String> oversizedKeys) {
+        Function<Row, String> key = BLOCK_KEYS.get(kind);
+        Integer[] order = new Integer[rows.size()];
+        int count = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            if (!key.apply(rows.get(i)).isEmpty()) {
+                order[count++] = i;
+            }
+        }
+        Integer[] keyed = Arrays.copyOf(order, count);
+        Arrays.parallelSort(keyed, Comparator.comparing(i -> key.apply(rows.get(i))));
+
+        int start = 0;
+        for (int i = 1; i <= keyed.length; i++) {
+            if (i == keyed.length || !key.apply(rows.get(keyed[i])).equals(key.apply(rows.get(keyed[start])))) {
+                int size = i - start;
+                if (size > maxBlockSize) {
+                    oversizedKeys.add(key.apply(rows.get(keyed[start])));
+                } else if (size > 1) {
+                    int[] members = new int[size];
+                    for (int j = 0; j < size; j++) {
+                        members[j] = keyed[start + j];
+                    }
+                    blocks.add(new Block(kind, members));
+                }
+                start = i;
+            }
+        }
+    }
+
+    private void scoreBlock(List<Row> rows, Block block, List<Set<String>> oversizedKeys, LongAdder scored,
+                            ConcurrentLinkedQueue<DuplicateCandidateDTO> found) {
+        int[] members = block.members();
+        for (int i = 0; i < members.length; i++) {
+            for (int j = i + 1; j < members.length; j++) {
+                Row a = rows.get(members[i]);
+                Row b = rows.get(members[j]);
+                if (scoredInEarlierBlock(a, b, block.kind(), oversizedKeys)) {
+                    continue;
+                }
+                if (a.id() > b.id()) {
+                    Row swap = a;
+                    a = b;
+                    b = swap;
+                }
+                scored.increment();
+                DuplicateCandidateDTO candidate = score(a, b);
+                if (candidate != null) {
+                    found.add(candidate);
+                }
+            }
+        }
+    }
+
+    // True when the pair also shares an earlier key whose block was scored, so it was scored there
+    private static boolean scoredInEarlierBlock(Row a, Row b, int kind, List<Set<String>> oversizedKeys) {
+        for (int earlier = 0; earlier < kind; earlier++) {
+            String key = BLOCK_KEYS.get(earlier).apply(a);
+            if (!key.isEmpty() && key.equals(BLOCK_KEYS.get(earlier).apply(b))
+                    && !oversizedKeys.get(earlier).contains(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private DuplicateCandidateDTO score(Row a, Row b) {
+        Set<MatchReason> reasons = EnumSet.noneOf(MatchReason.class);
+        double score = 0;
+        if (!a.plateKey().isEmpty() && a.plateKey().equals(b.plateKey())) {
+            score += PLATE_WEIGHT;
+            reasons.add(MatchReason.SAME_PLATE);
+        }
+        if (!a.phoneKey().isEmpty() && a.phoneKey().equals(b.phoneKey())) {
+            score += PHONE_WEIGHT;
+            reasons.add(MatchReason.SAME_PHONE);
+        }
+        if (a.email() != null && a.email().equals(b.email())) {
+            score += EMAIL_WEIGHT;
+            reasons.add(MatchReason.SAME_EMAIL);
+        }
+        double nameSimilarity = NameMatching.jaroWinkler(a.nameKey(), b.nameKey());
+        score += NAME_WEIGHT * nameSimilarity;
+        if (nameSimilarity >= SIMILAR_NAME) {
+            reasons.add(MatchReason.SIMILAR_NAME);
+        }
+        score = Math.min(1.0, score);
+        if (score < threshold) {
+            return null;
+        }
+        return DuplicateCandidateDTO.builder()
+                .driverId(a.id())
+                .name(a.name())
+                .licensePlate(a.licensePlate())
+                .otherDriverId(b.id())
+                .otherName(b.name())
+                .otherLicensePlate(b.licensePlate())
+                .score(Math.round(score * 1000) / 1000.0)
+                .reasons(reasons)
+                .build();
+    }
+
+    private record Row(long id, String name, String licensePlate, String plateKey, String phoneKey,
+                       String nameKey, String phoneticKey, String email) {
+
+        static Row of(long id, String name, String licensePlate, String phone, String email) {
+            String nameKey = NameMatching.normalize(name);
+            return new Row(id, name, licensePlate, LicensePlates.searchKey(licensePlate), PhoneNumbers.matchKey(phone),
+                    nameKey, NameMatching.phoneticKey(nameKey),
+                    email != null && !email.isBlank() ? email.trim().toLowerCase(Locale.ROOT) : null);
+        }
+    }
+
+    // The rows sharing one value of the blocking key at index kind of BLOCK_KEYS
+    private record Block(int kind, int[] members) {
+    }
+}
@@ -0,0 +1,158 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.services.PaymentAggregateService.Snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Permanent removal of a driver and everything that references it.
+ * The driver is soft-deleted first so no new reservations or payments are created for it; its
+ * payments and reservations are then removed with set-based DELETEs of at most chunk-size rows,
+ * each in its own short transaction, so no lock is held for longer than one chunk. Payments of
+ * other drivers that point at its reservations are unlinked first, as they would block those
+ * DELETEs. The last transaction sweeps up anything created in between and deletes the driver row itself.
+ */
+@Service
+@Slf4j
+public class DriverDeletionService {
+
+    // RETURNING gives the aggregate buckets of the removed payments without a separate read
+    private static final String DELETE_PAYMENTS_SQL =
+        "DELETE FROM payment WHERE id IN (SELECT id FROM payment WHERE driver_id = ? LIMIT ?) " +
+        "RETURNING payment_date, status, payment_method, amount_cents";
+
+    // Payments of other drivers may point at this driver's reservations; they keep the payment but lose the link
+    private static final String DETACH_FOREIGN_PAYMENTS_SQL =
+        "UPDATE payment SET reservation_id = NULL " +
+        "WHERE reservation_id IN (SELECT id FROM reservation WHERE driver_id = ?) AND driver_id <> ?";
+
+    private static final String DELETE_RESERVATIONS_SQL =
+        "DELETE FROM reservation WHERE id IN (SELECT id FROM reservation WHERE driver_id = ? LIMIT ?)";
+
+    private static final String DELETE_DRIVER_SQL = "DELETE FROM drivers WHERE driver_id = ?";
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${driver.deletion.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${driver.deletion.purge-after-days:0}")
+    private int purgeAfterDays;
+
+    /**
+     * Delete a driver, soft-deleted or not, together with its reservations and payments
+     *
+     * @throws ResourceNotFoundException if the driver is not found
+     */
+    public void hardDelete(Long id) {
+        if (!driverRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Driver not found with id: " + id);
+        }
+        driverService.softDeleteIfLive(id);
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long payments = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> deletePaymentChunk(id, chunkSize));
+            payments += deleted;
+        } while (deleted == chunkSize);
+
+        int detached = transaction.execute(status -> jdbcTemplate.update(DETACH_FOREIGN_PAYMENTS_SQL, id, id));
+        if (detached > 0) {
+            log.warn("Unlinked {} payments of other drivers from the reservations of driver {}", detached, id);
+        }
+
+        long reservations = 0;
+        do {
+            deleted = transaction.execute(status -> jdbcTemplate.update(DELETE_RESERVATIONS_SQL, id, chunkSize));
+            reservations += deleted;
+        } while (deleted == chunkSize);
+
+        transaction.executeWithoutResult(status -> {
+            // Rows created while the driver was being soft-deleted; normally none
+            deletePaymentChunk(id, Integer.MAX_VALUE);
+            jdbcTemplate.update(DETACH_FOREIGN_PAYMENTS_SQL, id, id);
+            jdbcTemplate.update(DELETE_RESERVATIONS_SQL, id, Integer.MAX_VALUE);
+            driverSummaryService.removeDriver(id);
+            jdbcTemplate.update(DELETE_DRIVER_SQL, id);
+        });
+        log.info("Driver {} permanently deleted with {} payments and {} reservations", id, payments, reservations);
+    }
+
+    // Permanently remove drivers that have been soft-deleted for longer than the retention period.
+    // A driver that cannot be removed is logged and passed over, so it does not hold up the others
+    @Scheduled(cron = "${driver.deletion.purge-cron:0 45 3 * * *}")
+    public void purgeExpired() {
+        if (purgeAfterDays <= 0) {
+            return;
+        }
+        Date before = new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(purgeAfterDays));
+        Set<Long> failed = new HashSet<>();
+        List<Long> expired;
+        int limit;
+        do {
+            // Failed drivers are still listed first, so fetch past them
+            limit = chunkSize + failed.size();
+            expired = driverRepository.findDeletedBefore(before, Limit.of(limit));
+            for (Long id : expired) {
+                if (failed.contains(id)) {
+                    continue;
+                }
+                try {
+                    hardDelete(id);
+                } catch (RuntimeException e) {
+                    failed.add(id);
+                    log.error("Could not purge driver {}, leaving it for the next run", id, e);
+                }
+            }
+        } while (expired.size() == limit);
+        if (!failed.isEmpty()) {
+            log.warn("Driver purge finished with {} drivers left in place: {}", failed.size(), failed);
+        }
+    }
+
+    private int deletePaymentChunk(Long driverId, int limit) {
+        List<Snapshot> removed = jdbcTemplate.query(DELETE_PAYMENTS_SQL,
+                (rs, rowNum) -> Snapshot.of(rs.getTimestamp(1), PaymentStatus.valueOf(rs.getString(2)),
+                        PaymentMethod.valueOf(rs.getString(3)), rs.getLong(4)),
+                driverId, limit);
+        paymentAggregateService.recordDeleted(removed);
+        return removed.size();
+    }
+}
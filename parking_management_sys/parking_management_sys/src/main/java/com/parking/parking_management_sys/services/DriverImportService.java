@@ -0,0 +1,213 @@
+package com.parking.parking_management_sys.services;
+
+import com.parking.parking_management_sys.dto.DriverDTO;
+import com.parking.parking_management_sys.dto.ImportReportDTO;
+import com.parking.parking_management_sys.dto.ImportReportDTO.RowResult;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.util.ImportRecordReader;
+import com.parking.parking_management_sys.util.ImportRecordReader.Record;
+import com.parking.parking_management_sys.util.RecordFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming bulk import of drivers from CSV or NDJSON uploads.
+ * Plates are normalized the way registerDriver stores them, duplicates inside the file are caught
+ * as rows are read, duplicates against the database are resolved with one query per chunk, and
+ * accepted rows are written with a single JDBC batch per chunk.
+ */
+@Service
+@Slf4j
+public class DriverImportService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO drivers (name, license_plate, phone_number, email, active, created_at, updated_at, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final Pattern LICENSE_PLATE = Pattern.compile(DriverDTO.LICENSE_PLATE_REGEX);
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private PlateTypeaheadService plateTypeaheadService;
+
+    @Autowired
+    private DriverPlateCacheService driverPlateCacheService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${driver.import.chunk-size:1000}")
+    private int chunkSize;
+
+    private record PendingRow(int row, DriverDTO driver) {
+    }
+
+    public ImportReportDTO importDrivers(InputStream input, RecordFormat format) throws IOException {
+        ImportReportDTO report = ImportReportDTO.builder().build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        // Normalized plate -> first row that used it
+        Map<String, Integer> seenPlates = new HashMap<>();
+
+        try (ImportRecordReader reader = new ImportRecordReader(input, format, objectMapper)) {
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            Record record;
+            while ((record = reader.next()) != null) {
+                PendingRow row = parseRow(record, report);
+                if (row == null) {
+                    continue;
+                }
+                Integer firstRow = seenPlates.putIfAbsent(row.driver().getLicensePlate(), row.row());
+                if (firstRow != null) {
+                    report.reject(row.row(), "Duplicate license plate in file (first used on row " + firstRow + "): "
+                        + row.driver().getLicensePlate());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, transaction, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk, transaction, report);
+            }
+        }
+
+        report.getRows().sort(Comparator.comparingInt(RowResult::getRow));
+        log.info("Driver import finished: {} imported, {} rejected", report.getImported(), report.getRejected());
+        return report;
+    }
+
+    private PendingRow parseRow(Record record, ImportReportDTO report) {
+        if (record.error() != null) {
+            report.reject(record.row(), record.error());
+            return null;
+        }
+        DriverDTO driver = new DriverDTO();
+        driver.setName(trimToNull(record.get("name")));
+        String plate = trimToNull(record.get("licensePlate"));
+        driver.setLicensePlate(plate != null ? plate.toUpperCase(Locale.ROOT) : null);
+        driver.setPhoneNumber(trimToNull(record.get("phoneNumber")));
+        driver.setEmail(trimToNull(record.get("email")));
+        String active = trimToNull(record.get("active"));
+        driver.setActive(active == null || Boolean.parseBoolean(active));
+        try {
+            driverService.validateDriverData(driver);
+            validateFormat(driver);
+            return new PendingRow(record.row(), driver);
+        } catch (IllegalArgumentException e) {
+            report.reject(record.row(), e.getMessage());
+            return null;
+        }
+    }
+
+    // The DriverDTO bean constraints, checked here because import rows bypass request validation
+    private void validateFormat(DriverDTO driver) {
+        if (driver.getName().length() < 2 || driver.getName().length() > 100) {
+            throw new IllegalArgumentException("Name must be between 2 and 100 characters");
+        }
+        if (!LICENSE_PLATE.matcher(driver.getLicensePlate()).matches()) {
+            throw new IllegalArgumentException("License plate format is invalid");
+        }
+        if (driver.getPhoneNumber().length() > 20) {
+            throw new IllegalArgumentException("Phone number format is invalid");
+        }
+        if (driver.getEmail() != null && (driver.getEmail().length() > 100 || driver.getEmail().indexOf('@') < 1)) {
+            throw new IllegalArgumentException("Email format is invalid");
+        }
+    }
+
+    private void flushChunk(List<PendingRow> chunk, TransactionTemplate transaction, ImportReportDTO report) {
+        List<PendingRow> accepted = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> {
+                List<String> plates = chunk.stream().map(row -> row.driver().getLicensePlate()).toList();
+                Set<String> existing = new HashSet<>(driverRepository.findExistingLicensePlates(plates));
+                for (PendingRow row : chunk) {
+                    if (existing.contains(row.driver().getLicensePlate())) {
+                        report.reject(row.row(), "Driver with license plate already exists: " + row.driver().getLicensePlate());
+                    } else {
+                        accepted.add(row);
+                    }
+                }
+                insertBatch(accepted);
+                indexPlates(accepted);
+            });
+            accepted.forEach(row -> report.accept(row.row()));
+        } catch (DataAccessException e) {
+            log.error("Driver import chunk failed", e);
+            accepted.forEach(row -> report.reject(row.row(), "Batch insert failed: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    private void insertBatch(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            DriverDTO driver = row.driver();
+            ps.setString(1, driver.getName());
+            ps.setString(2, driver.getLicensePlate());
+            ps.setString(3, driver.getPhoneNumber());
+            ps.setString(4, driver.getEmail());
+            ps.setBoolean(5, driver.isActive());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    // Batched IDENTITY inserts return no keys, so resolve the new ids with one query for the typeahead index
+    private void indexPlates(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        List<String> plates = rows.stream().map(row -> row.driver().getLicensePlate()).toList();
+        for (Object[] pair : driverRepository.findIdsByLicensePlates(plates)) {
+            plateTypeaheadService.upsert((Long) pair[0], (String) pair[1]);
+        }
+        // The plates may be cached as unknown
+        driverPlateCacheService.invalidate(plates);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+}
@@ -0,0 +1,129 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.parking_management_sys.dto.DriverDTO;
+import com.parking.parking_management_sys.dto.DriverOverviewDTO;
+import com.parking.parking_management_sys.dto.PaymentSummaryDTO;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
+import com.parking.parking_management_sys.entities.DriverSummary;
+import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.repository.DriverSummaryRepository;
+import com.parking.parking_management_sys.repository.PaymentRepository;
+import com.parking.parking_management_sys.repository.ReservationRepository;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Builds the driver overview from four independent reads run concurrently on virtual threads.
+ * Each read runs in its own short read-only transaction, and so on its own pooled connection,
+ * which makes the response as slow as the slowest read rather than the sum of them.
+ * A semaphore shared by all requests caps how many connections the fan-out holds at once.
+ */
+@Service
+@Slf4j
+public class DriverOverviewService {
+
+    public static final int MAX_RECENT = 50;
+
+    private final DriverService driverService;
+    private final ReservationRepository reservationRepository;
+    private final PaymentRepository paymentRepository;
+    private final DriverSummaryRepository summaryRepository;
+    private final TransactionTemplate readTransaction;
+    private final Semaphore connections;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public DriverOverviewService(
+            DriverService driverService,
+            ReservationRepository reservationRepository,
+            PaymentRepository paymentRepository,
+            DriverSummaryRepository summaryRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${driver.overview.max-concurrent-reads:8}") int maxConcurrentReads) {
+        this.driverService = driverService;
+        this.reservationRepository = reservationRepository;
+        this.paymentRepository = paymentRepository;
+        this.summaryRepository = summaryRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.connections = new Semaphore(maxConcurrentReads);
+    }
+
+    /**
+     * The driver with its counters and most recent reservations and payments
+     *
+     * @param recent how many reservations and payments to include, capped at MAX_RECENT
+     */
+    public DriverOverviewDTO getOverview(Long driverId, int recent) {
+        Limit limit = Limit.of(Math.min(Math.max(recent, 1), MAX_RECENT));
+
+        Future<Optional<DriverDTO>> driver = submit(() -> driverService.getDriverById(driverId));
+        Future<DriverSummary> summary = submit(() -> summaryRepository.findById(driverId)
+                .orElseGet(() -> DriverSummary.empty(driverId)));
+        Future<List<ReservationSummaryDTO>> reservations = submit(
+                () -> reservationRepository.findRecentSummariesByDriverId(driverId, limit));
+        Future<List<PaymentSummaryDTO>> payments = submit(
+                () -> paymentRepository.findRecentSummariesByDriverId(driverId, limit));
+
+        // The other reads are wasted for an unknown id, but they are cheap index lookups that find nothing
+        DriverDTO found = await(driver)
+                .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
+        return DriverOverviewDTO.builder()
+                .driver(found)
+                .summary(await(summary))
+                .recentReservations(await(reservations))
+                .recentPayments(await(payments))
+                .build();
+    }
+
+    private <T> Future<T> submit(Supplier<T> read) {
+        return executor.submit(() -> {
+            connections.acquire();
+            try {
+                return readTransaction.execute(status -> read.get());
+            } finally {
+                connections.release();
+            }
+        });
+    }
+
+    // Rethrow a failed read as it was thrown, so a 404 from the driver read stays a 404
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while loading driver overview", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("Driver overview reads still running at shutdown");
+            executor.shutdownNow();
+        }
+    }
+}
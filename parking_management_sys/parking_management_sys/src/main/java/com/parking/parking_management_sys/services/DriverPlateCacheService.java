@@ -0,0 +1,132 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.parking.parking_management_sys.dto.CacheStatsDTO;
+import com.parking.parking_management_sys.dto.DriverDTO;
+import com.parking.parking_management_sys.entities.Driver;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.util.AfterCommit;
+import com.parking.parking_management_sys.util.BoundedCache;
+
+/**
+ * Near-cache from license plate to a compact driver snapshot for gate lookups.
+ * Unknown plates are cached too, for a shorter time, so repeated reads of an unregistered
+ * plate do not reach the database either. DriverService invalidates a plate after every
+ * committed change to it; the TTL bounds staleness from writes made by other instances.
+ */
+@Service
+public class DriverPlateCacheService {
+
+    private final DriverRepository driverRepository;
+    private final BoundedCache<String, Optional<DriverSnapshot>> cache;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LongAdder negativeHits = new LongAdder();
+
+    // Bumped by every invalidation; a load that started before one must not be cached
+    private long generation;
+
+    /**
+     * The cached fields of a driver
+     */
+    public record DriverSnapshot(Long driverId, String name, String licensePlate, String phoneNumber,
+                                 String email, boolean active) {
+
+        static DriverSnapshot of(Driver driver) {
+            return new DriverSnapshot(driver.getDriverId(), driver.getName(), driver.getLicensePlate(),
+                    driver.getPhoneNumber(), driver.getEmail(), driver.isActive());
+        }
+
+        public DriverDTO toDTO() {
+            DriverDTO dto = new DriverDTO();
+            dto.setDriverId(driverId);
+            dto.setName(name);
+            dto.setLicensePlate(licensePlate);
+            dto.setPhoneNumber(phoneNumber);
+            dto.setEmail(email);
+            dto.setActive(active);
+            return dto;
+        }
+    }
+
+    public DriverPlateCacheService(
+            DriverRepository driverRepository,
+            @Value("${driver.plate-cache.capacity:10000}") int capacity,
+            @Value("${driver.plate-cache.ttl-seconds:600}") long ttlSeconds,
+            @Value("${driver.plate-cache.negative-ttl-seconds:60}") long negativeTtlSeconds) {
+        this.driverRepository = driverRepository;
+        this.cache = new BoundedCache<>(capacity);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.negativeTtlMillis = TimeUnit.SECONDS.toMillis(negativeTtlSeconds);
+    }
+
+    /**
+     * The live driver registered with the plate, from the cache when possible
+     */
+    public Optional<DriverSnapshot> find(String licensePlate) {
+        String key = key(licensePlate);
+        Optional<DriverSnapshot> cached = cache.get(key);
+        if (cached != null) {
+            if (cached.isEmpty()) {
+                negativeHits.increment();
+            }
+            return cached;
+        }
+        long startedAt = currentGeneration();
+        Optional<DriverSnapshot> loaded = driverRepository.findByLicensePlate(key).map(DriverSnapshot::of);
+        synchronized (this) {
+            if (generation == startedAt) {
+                cache.put(key, loaded, loaded.isPresent() ? ttlMillis : negativeTtlMillis);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Forget the given plates once the surrounding transaction commits
+     */
+    public void invalidate(String... licensePlates) {
+        invalidate(List.of(licensePlates));
+    }
+
+    public void invalidate(Collection<String> licensePlates) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                licensePlates.forEach(plate -> cache.invalidate(key(plate)));
+            }
+        });
+    }
+
+    public CacheStatsDTO stats() {
+        BoundedCache.Stats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .capacity(stats.capacity())
+                .size(stats.size())
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .hitRatio(stats.hitRatio())
+                .negativeHits(negativeHits.sum())
+                .evictions(stats.evictions())
+                .rejections(stats.rejections())
+                .build();
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+
+    // Plates are stored upper-cased, so lookups in any case share one entry
+    private static String key(String licensePlate) {
+        return licensePlate.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -1,20 +1,26 @@
 package com.parking.parking_management_sys.services;
 
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.DriverDTO;
 import com.parking.parking_management_sys.entities.Driver;
 import com.parking.parking_management_sys.exceptions.DuplicateLicensePlateException;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
 import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.util.KeysetCursor;
+import com.parking.parking_management_sys.util.LikePatterns;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -26,9 +32,20 @@ import java.util.stream.Collectors;
 @Slf4j
 public class DriverService {
 
+    // Trigrams need three characters; shorter queries fall back to prefix matching
+    private static final int MIN_TRIGRAM_QUERY_LENGTH = 3;
+    
+    public static final int MAX_SEARCH_RESULTS = 100;
+
     @Autowired
     private DriverRepository driverRepository;
     
+    @Autowired
+    private PlateTypeaheadService plateTypeaheadService;
+    
+    @Autowired
+    private DriverPlateCacheService driverPlateCacheService;
+    
     /**
      * Register a new driver
      * 
@@ -58,22 +75,26 @@ public class DriverService {
         driver.setActive(true);
         
         Driver savedDriver = driverRepository.save(driver);
+        plateTypeaheadService.upsert(savedDriver.getDriverId(), savedDriver.getLicensePlate());
+        driverPlateCacheService.invalidate(savedDriver.getLicensePlate());
         log.info("Driver registered successfully with ID: {}", savedDriver.getDriverId());
         
         return savedDriver;
     }
     
     /**
-     * Get all drivers
+     * Get one page of drivers in ID order
      * 
-     * @return List of all drivers as DTOs
+     * @param cursor Opaque cursor from the previous page, or null for the first page
+     * @param limit Page size, capped at KeysetCursor.MAX_LIMIT
+     * @return The page of drivers as DTOs and the cursor of the next page
      */
     @Transactional(readOnly = true)
-    public List<DriverDTO> getAllDrivers() {
-        log.info("Fetching all drivers");
-        return driverRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<DriverDTO> getAllDrivers(String cursor, int limit) {
+        log.info("Fetching drivers page");
+        List<Driver> drivers = driverRepository.findByDeletedAtIsNullAndDriverIdGreaterThanOrderByDriverIdAsc(
+                KeysetCursor.decode(cursor), KeysetCursor.fetchLimit(limit));
+        return CursorPageDTO.of(drivers, limit, Driver::getDriverId, this::convertToDTO);
     }
     
     /**
@@ -82,11 +103,10 @@ public class DriverService {
      * @param licensePlate The license plate to search for
      * @return Optional containing the driver if found
      */
-    @Transactional(readOnly = true)
     public Optional<DriverDTO> getDriverByLicensePlate(String licensePlate) {
         log.info("Fetching driver by license plate: {}", licensePlate);
-        return driverRepository.findByLicensePlate(licensePlate.toUpperCase())
-                .map(this::convertToDTO);
+        return driverPlateCacheService.find(licensePlate)
+                .map(DriverPlateCacheService.DriverSnapshot::toDTO);
     }
     
     /**
@@ -98,7 +118,7 @@ public class DriverService {
     @Transactional(readOnly = true)
     public Optional<DriverDTO> getDriverById(Long id) {
         log.info("Fetching driver by ID: {}", id);
-        return driverRepository.findById(id)
+        return driverRepository.findByDriverIdAndDeletedAtIsNull(id)
                 .map(this::convertToDTO);
     }
     
@@ -115,7 +135,7 @@ public class DriverService {
     public Driver updateDriver(Long id, DriverDTO driverDTO) {
         log.info("Updating driver with ID: {}", id);
         
-        Driver existingDriver = driverRepository.findById(id)
+        Driver existingDriver = driverRepository.findByDriverIdAndDeletedAtIsNull(id)
                 .orElseThrow(() -> {
                     log.error("Driver not found with ID: {}", id);
                     return new ResourceNotFoundException("Driver not found with id: " + id);
@@ -132,19 +152,24 @@ public class DriverService {
         validateDriverData(driverDTO);
         
         // Update driver properties
+        String previousPlate = existingDriver.getLicensePlate();
         existingDriver.setName(driverDTO.getName());
         existingDriver.setLicensePlate(driverDTO.getLicensePlate().toUpperCase());
         existingDriver.setPhoneNumber(driverDTO.getPhoneNumber());
         existingDriver.setEmail(driverDTO.getEmail());
         
         Driver updatedDriver = driverRepository.save(existingDriver);
+        plateTypeaheadService.upsert(updatedDriver.getDriverId(), updatedDriver.getLicensePlate());
+        driverPlateCacheService.invalidate(previousPlate, updatedDriver.getLicensePlate());
         log.info("Driver updated successfully with ID: {}", updatedDriver.getDriverId());
         
         return updatedDriver;
     }
     
     /**
-     * Delete a driver
+     * Soft-delete a driver: it is deactivated and hidden from lookups, lists and search,
+     * its license plate becomes free for a new registration, and its reservations and
+     * payments are kept. DriverDeletionService removes it permanently.
      * 
      * @param id The driver ID to delete
      * @return Map with deletion status
@@ -154,13 +179,10 @@ public class DriverService {
     public Map<String, Boolean> deleteDriver(Long id) {
         log.info("Deleting driver with ID: {}", id);
         
-        Driver driver = driverRepository.findById(id)
-                .orElseThrow(() -> {
-                    log.error("Driver not found with ID: {}", id);
-                    return new ResourceNotFoundException("Driver not found with id: " + id);
-                });
-        
-        driverRepository.delete(driver);
+        if (!softDeleteIfLive(id)) {
+            log.error("Driver not found with ID: {}", id);
+            throw new ResourceNotFoundException("Driver not found with id: " + id);
+        }
         log.info("Driver deleted successfully with ID: {}", id);
         
         Map<String, Boolean> response = new HashMap<>();
@@ -169,20 +191,52 @@ public class DriverService {
     }
     
     /**
-     * Search for drivers by name, license plate, phone number or email
+     * Mark a driver deleted unless it already is
+     * 
+     * @param id The driver ID
+     * @return true if the driver was live and is now soft-deleted
+     */
+    @Transactional
+    public boolean softDeleteIfLive(Long id) {
+        Optional<Driver> live = driverRepository.findByDriverIdAndDeletedAtIsNull(id);
+        live.ifPresent(driver -> {
+            driver.setActive(false);
+            driver.setDeletedAt(new Date());
+            driverRepository.save(driver);
+            plateTypeaheadService.remove(id);
+            driverPlateCacheService.invalidate(driver.getLicensePlate());
+        });
+        return live.isPresent();
+    }
+    
+    /**
+     * Search for drivers by name, license plate, phone number or email.
+     * Queries of three or more characters are substring matches ranked by relevance;
+     * shorter ones match plate and name prefixes.
      * 
      * @param query The search query
-     * @return List of matching drivers
+     * @param limit Maximum number of results, capped at MAX_SEARCH_RESULTS
+     * @return Best matching drivers, best first
      */
     @Transactional(readOnly = true)
-    public List<DriverDTO> searchDrivers(String query) {
+    public List<DriverDTO> searchDrivers(String query, int limit) {
         log.info("Searching drivers with query: {}", query);
+        int cappedLimit = Math.min(Math.max(limit, 1), MAX_SEARCH_RESULTS);
         
         List<Driver> drivers;
-        if (query != null && !query.trim().isEmpty()) {
-            drivers = driverRepository.searchDrivers(query);
+        String trimmed = query != null ? query.trim() : "";
+        if (trimmed.isEmpty()) {
+            drivers = driverRepository.findByDeletedAtIsNullOrderByDriverIdAsc(Limit.of(cappedLimit));
         } else {
-            drivers = driverRepository.findAll();
+            String lower = trimmed.toLowerCase(Locale.ROOT);
+            String upper = trimmed.toUpperCase(Locale.ROOT);
+            if (trimmed.length() < MIN_TRIGRAM_QUERY_LENGTH) {
+                drivers = driverRepository.searchByPrefix(
+                        LikePatterns.prefix(upper), LikePatterns.prefix(lower), cappedLimit);
+            } else {
+                drivers = driverRepository.searchRanked(lower, LikePatterns.contains(lower), upper,
+                        LikePatterns.prefix(upper), LikePatterns.prefix(lower), cappedLimit);
+            }
         }
         
         return drivers.stream()
@@ -213,7 +267,7 @@ public class DriverService {
     public Driver setDriverActiveStatus(Long id, boolean active) {
         log.info("Setting driver {} active status to: {}", id, active);
         
-        Driver driver = driverRepository.findById(id)
+        Driver driver = driverRepository.findByDriverIdAndDeletedAtIsNull(id)
                 .orElseThrow(() -> {
                     log.error("Driver not found with ID: {}", id);
                     return new ResourceNotFoundException("Driver not found with id: " + id);
@@ -221,6 +275,7 @@ public class DriverService {
         
         driver.setActive(active);
         Driver updatedDriver = driverRepository.save(driver);
+        driverPlateCacheService.invalidate(updatedDriver.getLicensePlate());
         log.info("Driver active status updated successfully for ID: {}", id);
         
         return updatedDriver;
@@ -249,7 +304,7 @@ public class DriverService {
      * @param driverDTO The driver DTO to validate
      * @throws IllegalArgumentException if validation fails
      */
-    private void validateDriverData(DriverDTO driverDTO) {
+    void validateDriverData(DriverDTO driverDTO) {
         // Validate name
         if (!StringUtils.hasText(driverDTO.getName())) {
             throw new IllegalArgumentException("Driver name cannot be empty");
@@ -0,0 +1,279 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.parking.parking_management_sys.entities.DriverSummary;
+import com.parking.parking_management_sys.entities.Payment;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.entities.Reservation;
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.repository.DriverSummaryRepository;
+import com.parking.parking_management_sys.repository.PaymentRepository;
+import com.parking.parking_management_sys.repository.ReservationRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-driver counters in driver_summary.
+ * Every record* method must run inside the transaction that changes the reservations or payments,
+ * so the counters commit or roll back together with the change; each affected driver costs one upsert.
+ */
+@Service
+@Slf4j
+public class DriverSummaryService {
+
+    @Autowired
+    private DriverSummaryRepository summaryRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    /**
+     * The summary-relevant fields of a reservation, captured before it is modified
+     */
+    public record ReservationKey(Long driverId, ReservationStatus status) {
+
+        public static ReservationKey of(Reservation reservation) {
+            if (reservation.getDriverId() == null || reservation.getStatus() == null) {
+                return null;
+            }
+            return new ReservationKey(reservation.getDriverId().getDriverId(), reservation.getStatus());
+        }
+    }
+
+    /**
+     * The summary-relevant fields of a payment, captured before it is modified
+     */
+    public record PaymentKey(Long driverId, PaymentStatus status, long amountCents) {
+
+        public static PaymentKey of(Payment payment) {
+            if (payment.getDriver() == null || payment.getStatus() == null || payment.getAmountCents() == null) {
+                return null;
+            }
+            return new PaymentKey(payment.getDriver().getDriverId(), payment.getStatus(), payment.getAmountCents());
+        }
+    }
+
+    /**
+     * Move a reservation's contribution from its old driver/status to its new one
+     *
+     * @param before key captured before the change, or null for a new reservation
+     * @param after the reservation after the change, or null when it was deleted
+     */
+    @Transactional
+    public void recordReservationChange(ReservationKey before, Reservation after) {
+        ReservationKey current = after != null ? ReservationKey.of(after) : null;
+        if (Objects.equals(before, current)) {
+            return;
+        }
+        Map<Long, Delta> deltas = new HashMap<>();
+        if (before != null) {
+            delta(deltas, before.driverId()).reservation(before.status(), -1);
+        }
+        if (current != null) {
+            delta(deltas, current.driverId()).reservation(current.status(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Count newly inserted reservations, one entry per reservation
+     */
+    @Transactional
+    public void recordReservationsCreated(Collection<Long> driverIds, ReservationStatus status) {
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (Long driverId : driverIds) {
+            delta(deltas, driverId).reservation(status, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move many reservations to a new status with one upsert per affected driver
+     *
+     * @param before keys of the reservations that changed, taken before the change
+     * @param target the status they all moved to
+     */
+    @Transactional
+    public void recordReservationStatusChange(Collection<ReservationKey> before, ReservationStatus target) {
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (ReservationKey key : before) {
+            if (key == null || key.status() == target) {
+                continue;
+            }
+            delta(deltas, key.driverId()).reservation(key.status(), -1).reservation(target, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move a payment's contribution from its old driver/status/amount to its new one
+     *
+     * @param before key captured before the change, or null for a new payment
+     * @param after the payment after the change, or null when it was deleted
+     */
+    @Transactional
+    public void recordPaymentChange(PaymentKey before, Payment after) {
+        PaymentKey current = after != null ? PaymentKey.of(after) : null;
+        if (Objects.equals(before, current)) {
+            return;
+        }
+        Map<Long, Delta> deltas = new HashMap<>();
+        if (before != null) {
+            delta(deltas, before.driverId()).payment(before.status(), before.amountCents(), -1);
+        }
+        if (current != null) {
+            delta(deltas, current.driverId()).payment(current.status(), current.amountCents(), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Move many payments to a new status with one upsert per affected driver
+     *
+     * @param before keys of the payments that changed, taken before the change
+     * @param target the status they all moved to
+     */
+    @Transactional
+    public void recordPaymentStatusChange(Collection<PaymentKey> before, PaymentStatus target) {
+        Map<Long, Delta> deltas = new HashMap<>();
+        for (PaymentKey key : before) {
+            if (key == null || key.status() == target) {
+                continue;
+            }
+            delta(deltas, key.driverId())
+                    .payment(key.status(), key.amountCents(), -1)
+                    .payment(target, key.amountCents(), 1);
+        }
+        apply(deltas);
+    }
+
+    // The driver's reservations and payments are deleted with it, so its counters go too
+    @Transactional
+    public void removeDriver(Long driverId) {
+        summaryRepository.deleteById(driverId);
+    }
+
+    @Transactional(readOnly = true)
+    public DriverSummary getSummary(Long driverId) {
+        return summaryRepository.findById(driverId).orElseGet(() -> {
+            if (!driverRepository.existsById(driverId)) {
+                throw new ResourceNotFoundException("Driver not found with id: " + driverId);
+            }
+            return DriverSummary.empty(driverId);
+        });
+    }
+
+    /**
+     * Summaries for a page of drivers in one query; ids without activity get an all-zero summary
+     */
+    @Transactional(readOnly = true)
+    public List<DriverSummary> getSummaries(Collection<Long> driverIds) {
+        Map<Long, DriverSummary> byId = new LinkedHashMap<>();
+        driverIds.forEach(id -> byId.put(id, null));
+        summaryRepository.findByDriverIdIn(byId.keySet()).forEach(summary -> byId.put(summary.getDriverId(), summary));
+        byId.replaceAll((id, summary) -> summary != null ? summary : DriverSummary.empty(id));
+        return List.copyOf(byId.values());
+    }
+
+    /**
+     * Recompute every driver's counters from the reservation and payment tables
+     */
+    @Transactional
+    public int rebuild() {
+        summaryRepository.lockForRebuild();
+        summaryRepository.deleteAllRows();
+        int rows = summaryRepository.rebuildFromActivity();
+        log.info("Rebuilt driver summaries: {} rows", rows);
+        return rows;
+    }
+
+    // Seed the table on the first start after deployment so counters are correct immediately
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        if (summaryRepository.count() == 0 && (reservationRepository.count() > 0 || paymentRepository.count() > 0)) {
+            rebuild();
+        }
+    }
+
+    private static Delta delta(Map<Long, Delta> deltas, Long driverId) {
+        return deltas.computeIfAbsent(driverId, id -> new Delta());
+    }
+
+    private void apply(Map<Long, Delta> deltas) {
+        deltas.forEach((driverId, d) -> {
+            if (!d.isEmpty()) {
+                summaryRepository.addDelta(driverId,
+                        d.reservations[ReservationStatus.PENDING.ordinal()],
+                        d.reservations[ReservationStatus.CONFIRMED.ordinal()],
+                        d.reservations[ReservationStatus.IN_PROGRESS.ordinal()],
+                        d.reservations[ReservationStatus.COMPLETED.ordinal()],
+                        d.reservations[ReservationStatus.CANCELLED.ordinal()],
+                        d.payments[PaymentStatus.PENDING.ordinal()],
+                        d.payments[PaymentStatus.COMPLETED.ordinal()],
+                        d.payments[PaymentStatus.FAILED.ordinal()],
+                        d.payments[PaymentStatus.REFUNDED.ordinal()],
+                        d.payments[PaymentStatus.CANCELLED.ordinal()],
+                        d.spendCents);
+            }
+        });
+    }
+
+    // Pending counter changes for one driver
+    private static final class Delta {
+        private final long[] reservations = new long[ReservationStatus.values().length];
+        private final long[] payments = new long[PaymentStatus.values().length];
+        private long spendCents;
+
+        Delta reservation(ReservationStatus status, int sign) {
+            reservations[status.ordinal()] += sign;
+            return this;
+        }
+
+        // Lifetime spend only counts payments while they are COMPLETED
+        Delta payment(PaymentStatus status, long amountCents, int sign) {
+            payments[status.ordinal()] += sign;
+            if (status == PaymentStatus.COMPLETED) {
+                spendCents += sign * amountCents;
+            }
+            return this;
+        }
+
+        boolean isEmpty() {
+            if (spendCents != 0) {
+                return false;
+            }
+            for (long value : reservations) {
+                if (value != 0) {
+                    return false;
+                }
+            }
+            for (long value : payments) {
+                if (value != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -1,11 +1,11 @@
 package com.parking.parking_management_sys.services;
 
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.ParkVehicleDTO;
 import com.parking.parking_management_sys.dto.ParkingSpotDTO;
-import com.parking.parking_management_sys.entities.Driver;
 import com.parking.parking_management_sys.entities.ParkingSpot;
-import com.parking.parking_management_sys.repository.DriverRepository;
 import com.parking.parking_management_sys.repository.ParkingSpotRepository;
+import com.parking.parking_management_sys.util.KeysetCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,7 +21,7 @@ public class ParkingService {
     private ParkingSpotRepository parkingSpotRepository;
 
     @Autowired
-    private DriverRepository driverRepository;
+    private DriverPlateCacheService driverPlateCacheService;
 
     public ParkingSpotDTO addParkingSpot(ParkingSpotDTO spotDTO) {
         ParkingSpot spot = new ParkingSpot();
@@ -35,10 +35,10 @@ public class ParkingService {
         return spotDTO;
     }
 
-    public List<ParkingSpotDTO> getAllSpots() {
-        return parkingSpotRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<ParkingSpotDTO> getAllSpots(String cursor, int limit) {
+        List<ParkingSpot> spots = parkingSpotRepository.findBySpotIdGreaterThanOrderBySpotIdAsc(
+                KeysetCursor.decode(cursor), KeysetCursor.fetchLimit(limit));
+        return CursorPageDTO.of(spots, limit, ParkingSpot::getSpotId, this::convertToDTO);
     }
 
     public List<ParkingSpotDTO> getAvailableSpots() {
@@ -50,8 +50,7 @@ public class ParkingService {
     @Transactional
     public ParkingSpotDTO parkVehicle(ParkVehicleDTO parkRequest) {
         // Verify driver exists
-        Optional<Driver> driver = driverRepository.findByLicensePlate(parkRequest.getLicensePlate());
-        if (driver.isEmpty()) {
+        if (driverPlateCacheService.find(parkRequest.getLicensePlate()).isEmpty()) {
             throw new RuntimeException("Driver with license plate " + parkRequest.getLicensePlate() + " not found");
         }
 
@@ -0,0 +1,190 @@
+package com.parking.parking_management_sys.services;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.parking.parking_management_sys.entities.Payment;
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.repository.PaymentDailyAggregateRepository;
+import com.parking.parking_management_sys.repository.PaymentRepository;
+import com.parking.parking_management_sys.util.Money;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the per-day x status x method payment totals and answers range totals from them.
+ * Days are calendar days in the server time zone, the same zone the JDBC driver writes payment_date in.
+ */
+@Service
+@Slf4j
+public class PaymentAggregateService {
+
+    @Autowired
+    private PaymentDailyAggregateRepository aggregateRepository;
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    /**
+     * The aggregate-relevant fields of a payment, captured before it is modified
+     */
+    public record Snapshot(LocalDate day, PaymentStatus status, PaymentMethod method, long amountCents) {
+
+        public static Snapshot of(Payment payment) {
+            if (payment.getPaymentDate() == null || payment.getStatus() == null
+                    || payment.getPaymentMethod() == null || payment.getAmountCents() == null) {
+                return null;
+            }
+            return of(payment.getPaymentDate(), payment.getStatus(), payment.getPaymentMethod(), payment.getAmountCents());
+        }
+
+        public static Snapshot of(Date paymentDate, PaymentStatus status, PaymentMethod method, long amountCents) {
+            return new Snapshot(toDay(paymentDate), status, method, amountCents);
+        }
+    }
+
+    /**
+     * Move a payment's contribution from its old bucket to its new one.
+     * Must run inside the transaction that changes the payment.
+     *
+     * @param before snapshot taken before the change, or null for a new payment
+     * @param after the payment after the change, or null when it was deleted
+     */
+    @Transactional
+    public void recordChange(Snapshot before, Payment after) {
+        Snapshot current = after != null ? Snapshot.of(after) : null;
+        if (before != null && before.equals(current)) {
+            return;
+        }
+        if (before != null) {
+            aggregateRepository.addDelta(before.day(), before.status().name(), before.method().name(), -before.amountCents(), -1);
+        }
+        if (current != null) {
+            aggregateRepository.addDelta(current.day(), current.status().name(), current.method().name(), current.amountCents(), 1);
+        }
+    }
+
+    /**
+     * Move many payments to a new status with one upsert per affected bucket instead of one per payment.
+     * Must run inside the transaction that changes the payments.
+     *
+     * @param before snapshots of the payments that changed, taken before the change
+     * @param target the status they all moved to
+     */
+    @Transactional
+    public void recordStatusChange(Collection<Snapshot> before, PaymentStatus target) {
+        // Per bucket: {amount delta in cents, count delta}
+        Map<Snapshot, long[]> buckets = new HashMap<>();
+        for (Snapshot snapshot : before) {
+            if (snapshot == null || snapshot.status() == target) {
+                continue;
+            }
+            Snapshot from = new Snapshot(snapshot.day(), snapshot.status(), snapshot.method(), 0);
+            Snapshot to = new Snapshot(snapshot.day(), target, snapshot.method(), 0);
+            long[] fromDelta = buckets.computeIfAbsent(from, key -> new long[2]);
+            long[] toDelta = buckets.computeIfAbsent(to, key -> new long[2]);
+            fromDelta[0] -= snapshot.amountCents();
+            fromDelta[1]--;
+            toDelta[0] += snapshot.amountCents();
+            toDelta[1]++;
+        }
+        buckets.forEach((bucket, delta) -> aggregateRepository.addDelta(
+                bucket.day(), bucket.status().name(), bucket.method().name(), delta[0], delta[1]));
+    }
+
+    /**
+     * Remove many deleted payments with one upsert per affected bucket.
+     * Must run inside the transaction that deletes the payments.
+     *
+     * @param deleted snapshots of the deleted payments
+     */
+    @Transactional
+    public void recordDeleted(Collection<Snapshot> deleted) {
+        // Per bucket: {amount delta in cents, count delta}
+        Map<Snapshot, long[]> buckets = new HashMap<>();
+        for (Snapshot snapshot : deleted) {
+            long[] delta = buckets.computeIfAbsent(
+                    new Snapshot(snapshot.day(), snapshot.status(), snapshot.method(), 0), key -> new long[2]);
+            delta[0] -= snapshot.amountCents();
+            delta[1]--;
+        }
+        buckets.forEach((bucket, delta) -> aggregateRepository.addDelta(
+                bucket.day(), bucket.status().name(), bucket.method().name(), delta[0], delta[1]));
+    }
+
+    /**
+     * Total amount of payments with the given status whose payment date lies in [startDate, endDate].
+     * Whole days come from the aggregate table; only the partial first and last day touch raw payments.
+     */
+    @Transactional(readOnly = true)
+    public Money calculateTotal(PaymentStatus status, Date startDate, Date endDate) {
+        ZoneId zone = ZoneId.systemDefault();
+        LocalDate startDay = toDay(startDate);
+        Date startDayBegin = Date.from(startDay.atStartOfDay(zone).toInstant());
+        LocalDate firstFullDay = startDayBegin.equals(startDate) ? startDay : startDay.plusDays(1);
+        // A day is fully covered when the inclusive range reaches its last millisecond
+        LocalDate endExclusiveDay = toDay(new Date(endDate.getTime() + 1));
+
+        if (!firstFullDay.isBefore(endExclusiveDay)) {
+            return Money.ofCents(nullToZero(paymentRepository.calculateTotalAmountByStatusAndDateRange(status, startDate, endDate)));
+        }
+
+        Date fullDaysBegin = Date.from(firstFullDay.atStartOfDay(zone).toInstant());
+        Date fullDaysEnd = Date.from(endExclusiveDay.atStartOfDay(zone).toInstant());
+        long total = nullToZero(aggregateRepository.sumTotalAmountCents(status, firstFullDay, endExclusiveDay.minusDays(1)));
+        if (startDate.before(fullDaysBegin)) {
+            total += nullToZero(paymentRepository.sumAmountByStatusInHalfOpenRange(status, startDate, fullDaysBegin));
+        }
+        if (!endDate.before(fullDaysEnd)) {
+            total += nullToZero(paymentRepository.calculateTotalAmountByStatusAndDateRange(status, fullDaysEnd, endDate));
+        }
+        return Money.ofCents(total);
+    }
+
+    /**
+     * Recompute every aggregate row from the payment table
+     */
+    @Transactional
+    public int rebuild() {
+        aggregateRepository.lockForRebuild();
+        aggregateRepository.deleteAllRows();
+        int rows = aggregateRepository.rebuildFromPayments();
+        log.info("Rebuilt payment daily aggregates: {} rows", rows);
+        return rows;
+    }
+
+    @Scheduled(cron = "${payment.aggregates.rebuild-cron:0 30 3 * * *}")
+    @Transactional
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    // Seed the table on the first start after deployment so range totals are correct immediately
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void seedIfEmpty() {
+        if (aggregateRepository.count() == 0 && paymentRepository.count() > 0) {
+            rebuild();
+        }
+    }
+
+    static LocalDate toDay(Date date) {
+        return date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+    }
+
+    private static long nullToZero(Long value) {
+        return value != null ? value : 0L;
+    }
+}
@@ -0,0 +1,34 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Payments currently being charged through the gateway by this instance.
+ * The async pipeline and settlement both charge PENDING payments; each claims a payment before
+ * its gateway call and releases it once the outcome is applied, so the same payment is never
+ * charged by both at once. Charges made by other instances are caught later by the guarded
+ * status updates, which report an approved charge that could not be applied.
+ */
+@Component
+public class PaymentChargeClaims {
+
+    private final Set<Long> claimed = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Claim a payment for charging; false if another caller is charging it
+     */
+    public boolean tryClaim(Long paymentId) {
+        return claimed.add(paymentId);
+    }
+
+    public void release(Long paymentId) {
+        claimed.remove(paymentId);
+    }
+
+    public int size() {
+        return claimed.size();
+    }
+}
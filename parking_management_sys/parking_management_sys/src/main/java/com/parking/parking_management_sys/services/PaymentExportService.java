@@ -0,0 +1,157 @@
+package com.parking.parking_management_sys.services;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.parking.parking_management_sys.exceptions.InvalidPaymentException;
+import com.parking.parking_management_sys.util.Money;
+import com.parking.parking_management_sys.util.RecordFormat;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Streams payments in a date range straight from a forward-only JDBC cursor to the response.
+ * PostgreSQL only uses a server-side cursor when a fetch size is set inside a transaction,
+ * so rows arrive {@code payment.export.fetch-size} at a time and memory stays flat for any range.
+ */
+@Service
+@Slf4j
+public class PaymentExportService {
+
+    private static final String EXPORT_SQL =
+        "SELECT p.id, p.amount_cents, p.payment_date, p.payment_method, p.status, p.transaction_id, " +
+        "p.driver_id, p.reservation_id FROM payment p " +
+        "WHERE p.payment_date BETWEEN ? AND ? ORDER BY p.payment_date, p.id";
+
+    private static final String CSV_HEADER =
+        "id,amount,paymentDate,paymentMethod,status,transactionId,driverId,reservationId\n";
+
+    private final JdbcTemplate cursorTemplate;
+    private final ObjectMapper objectMapper;
+
+    public PaymentExportService(DataSource dataSource, ObjectMapper objectMapper,
+                                @Value("${payment.export.fetch-size:1000}") int fetchSize) {
+        this.cursorTemplate = new JdbcTemplate(dataSource);
+        this.cursorTemplate.setFetchSize(fetchSize);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every payment whose date lies in [startDate, endDate] to the stream
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long export(Date startDate, Date endDate, RecordFormat format, OutputStream out) throws IOException {
+        if (startDate.after(endDate)) {
+            throw new InvalidPaymentException("Start date cannot be after end date");
+        }
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        JsonGenerator json = format == RecordFormat.NDJSON ? objectMapper.getFactory().createGenerator(writer) : null;
+        if (json != null) {
+            json.setRootValueSeparator(null);
+        } else {
+            writer.write(CSV_HEADER);
+        }
+
+        long[] rows = {0};
+        try {
+            cursorTemplate.query(EXPORT_SQL, rs -> {
+                try {
+                    if (json != null) {
+                        writeJson(rs, json);
+                    } else {
+                        writeCsv(rs, writer);
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                rows[0]++;
+            }, new Timestamp(startDate.getTime()), new Timestamp(endDate.getTime()));
+        } catch (UncheckedIOException e) {
+            // Client went away mid-download; the cursor is closed with the transaction
+            log.warn("Payment export aborted after {} rows: {}", rows[0], e.getCause().getMessage());
+            throw e.getCause();
+        }
+
+        if (json != null) {
+            json.flush();
+        }
+        writer.flush();
+        return rows[0];
+    }
+
+    private void writeCsv(ResultSet rs, Writer writer) throws SQLException, IOException {
+        writer.write(Long.toString(rs.getLong("id")));
+        writer.write(',');
+        writer.write(Money.ofCents(rs.getLong("amount_cents")).toString());
+        writer.write(',');
+        writer.write(formatTimestamp(rs.getTimestamp("payment_date")));
+        writer.write(',');
+        writer.write(csvValue(rs.getString("payment_method")));
+        writer.write(',');
+        writer.write(csvValue(rs.getString("status")));
+        writer.write(',');
+        writer.write(csvValue(rs.getString("transaction_id")));
+        writer.write(',');
+        writer.write(Long.toString(rs.getLong("driver_id")));
+        writer.write(',');
+        long reservationId = rs.getLong("reservation_id");
+        if (!rs.wasNull()) {
+            writer.write(Long.toString(reservationId));
+        }
+        writer.write('\n');
+    }
+
+    private void writeJson(ResultSet rs, JsonGenerator json) throws SQLException, IOException {
+        json.writeStartObject();
+        json.writeNumberField("id", rs.getLong("id"));
+        json.writeNumberField("amount", Money.ofCents(rs.getLong("amount_cents")).toBigDecimal());
+        json.writeStringField("paymentDate", formatTimestamp(rs.getTimestamp("payment_date")));
+        json.writeStringField("paymentMethod", rs.getString("payment_method"));
+        json.writeStringField("status", rs.getString("status"));
+        json.writeStringField("transactionId", rs.getString("transaction_id"));
+        json.writeNumberField("driverId", rs.getLong("driver_id"));
+        long reservationId = rs.getLong("reservation_id");
+        if (rs.wasNull()) {
+            json.writeNullField("reservationId");
+        } else {
+            json.writeNumberField("reservationId", reservationId);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static String formatTimestamp(Timestamp timestamp) {
+        return timestamp == null ? "" : timestamp.toLocalDateTime().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    private static String csvValue(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
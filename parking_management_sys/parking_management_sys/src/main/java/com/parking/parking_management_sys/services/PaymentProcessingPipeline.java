@@ -0,0 +1,154 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.parking.parking_management_sys.dto.PaymentProcessingStatusDTO;
+import com.parking.parking_management_sys.dto.PaymentProcessingStatusDTO.State;
+import com.parking.parking_management_sys.exceptions.PaymentQueueFullException;
+import com.parking.parking_management_sys.gateway.PaymentGateway;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeRequest;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeResult;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Asynchronous payment processing on virtual threads.
+ * Each accepted request runs on its own virtual thread; a semaphore caps how many are talking to the
+ * gateway at once and a pending counter caps how many may wait, so overload is rejected immediately.
+ * The database is only touched in two short transactions around the gateway call.
+ */
+@Service
+@Slf4j
+public class PaymentProcessingPipeline {
+
+    private final PaymentService paymentService;
+    private final PaymentGateway paymentGateway;
+    private final PaymentChargeClaims chargeClaims;
+    private final int queueCapacity;
+    private final long retentionMillis;
+    private final Semaphore inFlight;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ConcurrentHashMap<Long, PaymentProcessingStatusDTO> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PaymentProcessingPipeline(
+            PaymentService paymentService,
+            PaymentGateway paymentGateway,
+            PaymentChargeClaims chargeClaims,
+            @Value("${payment.async.max-in-flight:64}") int maxInFlight,
+            @Value("${payment.async.queue-capacity:10000}") int queueCapacity,
+            @Value("${payment.async.status-retention-minutes:60}") long retentionMinutes) {
+        this.paymentService = paymentService;
+        this.paymentGateway = paymentGateway;
+        this.chargeClaims = chargeClaims;
+        this.queueCapacity = queueCapacity;
+        this.retentionMillis = TimeUnit.MINUTES.toMillis(retentionMinutes);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Queue a payment for processing. Resubmitting a payment that is still queued or processing
+     * returns the existing job.
+     *
+     * @throws PaymentQueueFullException when the pipeline is at capacity
+     */
+    public PaymentProcessingStatusDTO submit(Long paymentId) {
+        PaymentProcessingStatusDTO queued = PaymentProcessingStatusDTO.builder()
+                .paymentId(paymentId)
+                .state(State.QUEUED)
+                .submittedAt(new Date())
+                .build();
+        PaymentProcessingStatusDTO current = jobs.compute(paymentId,
+                (id, existing) -> existing != null && !existing.isFinished() ? existing : queued);
+        if (current != queued) {
+            return current;
+        }
+
+        if (pending.incrementAndGet() > queueCapacity) {
+            pending.decrementAndGet();
+            jobs.remove(paymentId, queued);
+            throw new PaymentQueueFullException("Payment processing queue is full, retry later");
+        }
+        executor.execute(() -> process(paymentId));
+        return queued;
+    }
+
+    public Optional<PaymentProcessingStatusDTO> getStatus(Long paymentId) {
+        return Optional.ofNullable(jobs.get(paymentId));
+    }
+
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    private void process(Long paymentId) {
+        try {
+            inFlight.acquire();
+            try {
+                // Settlement may be charging the same payment; it must not be charged twice
+                if (!chargeClaims.tryClaim(paymentId)) {
+                    finish(paymentId, State.FAILED, null, "Payment is being charged by settlement");
+                    return;
+                }
+                try {
+                    jobs.computeIfPresent(paymentId, (id, job) -> job.toBuilder().state(State.PROCESSING).build());
+                    ChargeRequest request = paymentService.prepareProcessing(paymentId);
+                    ChargeResult result = paymentGateway.charge(request);
+                    // An approved charge whose payment changed meanwhile surfaces as FAILED with the reason;
+                    // a real gateway integration would void the charge here
+                    paymentService.completeProcessing(paymentId, result);
+                    finish(paymentId, result.approved() ? State.COMPLETED : State.FAILED, result.reference(), result.message());
+                } finally {
+                    chargeClaims.release(paymentId);
+                }
+            } finally {
+                inFlight.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(paymentId, State.FAILED, null, "Processing interrupted");
+        } catch (RuntimeException e) {
+            log.warn("Async processing failed for payment {}: {}", paymentId, e.getMessage());
+            finish(paymentId, State.FAILED, null, e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void finish(Long paymentId, State state, String reference, String message) {
+        jobs.computeIfPresent(paymentId, (id, job) -> job.toBuilder()
+                .state(state)
+                .gatewayReference(reference)
+                .message(message)
+                .finishedAt(new Date())
+                .build());
+    }
+
+    // Forget finished jobs once pollers have had time to see them
+    @Scheduled(fixedDelayString = "${payment.async.prune-interval-ms:60000}")
+    public void pruneFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().getTime() < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Payment pipeline stopped with {} payments still pending", pending.get());
+            executor.shutdownNow();
+        }
+    }
+}
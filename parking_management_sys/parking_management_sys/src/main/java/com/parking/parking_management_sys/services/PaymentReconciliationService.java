@@ -0,0 +1,291 @@
+package com.parking.parking_management_sys.services;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.parking_management_sys.dto.ReconciliationSummaryDTO;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.entities.ReconciliationDiscrepancy;
+import com.parking.parking_management_sys.entities.ReconciliationDiscrepancy.DiscrepancyType;
+import com.parking.parking_management_sys.exceptions.OperationInProgressException;
+import com.parking.parking_management_sys.repository.ReconciliationDiscrepancyRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks that every COMPLETED reservation has a COMPLETED payment for its price.
+ * The reservation id space is split fork/join style into ranges; each range streams COMPLETED
+ * reservations and the payments pointing at them in reservation-id order, a chunk at a time,
+ * and merge-joins the two sorted lists. Every chunk is read in its own short read-only
+ * transaction, so no lock or snapshot is held for the length of the run. Findings are batch
+ * inserted into reconciliation_discrepancy under the run id.
+ */
+@Service
+@Slf4j
+public class PaymentReconciliationService {
+
+    private static final String BOUNDS_SQL =
+        "SELECT MIN(id), MAX(id) FROM reservation WHERE status = 'COMPLETED'";
+
+    private static final String RESERVATION_CHUNK_SQL =
+        "SELECT id, total_price_cents FROM reservation " +
+        "WHERE status = 'COMPLETED' AND id > ? AND id <= ? ORDER BY id LIMIT ?";
+
+    private static final String PAYMENT_CHUNK_SQL =
+        "SELECT id, reservation_id, amount_cents, status FROM payment " +
+        "WHERE reservation_id BETWEEN ? AND ? ORDER BY reservation_id, id";
+
+    private static final String INSERT_SQL =
+        "INSERT INTO reconciliation_discrepancy (run_id, reservation_id, payment_id, type, " +
+        "expected_amount_cents, actual_amount_cents, detected_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate readTransaction;
+    private final TransactionTemplate writeTransaction;
+    private final ReconciliationDiscrepancyRepository discrepancyRepository;
+    private final int chunkSize;
+    private final long rangeSpan;
+    private final int parallelism;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public PaymentReconciliationService(DataSource dataSource, PlatformTransactionManager transactionManager,
+                                        ReconciliationDiscrepancyRepository discrepancyRepository,
+                                        @Value("${payment.reconciliation.chunk-size:1000}") int chunkSize,
+                                        @Value("${payment.reconciliation.range-span:50000}") long rangeSpan,
+                                        @Value("${payment.reconciliation.parallelism:0}") int parallelism) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.writeTransaction = new TransactionTemplate(transactionManager);
+        this.discrepancyRepository = discrepancyRepository;
+        this.chunkSize = chunkSize;
+        this.rangeSpan = Math.max(rangeSpan, chunkSize);
+        // 0 means one worker per core; each worker holds at most one pooled connection at a time
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+
+    public ReconciliationSummaryDTO reconcile() {
+        if (!running.compareAndSet(false, true)) {
+            throw new OperationInProgressException("A reconciliation run is already in progress");
+        }
+        try {
+            return run();
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @Scheduled(cron = "${payment.reconciliation.cron:0 0 4 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (OperationInProgressException e) {
+            log.info("Skipping scheduled reconciliation: {}", e.getMessage());
+        }
+    }
+
+    // A clean run records nothing, so an unknown run id is also just an empty list
+    public List<ReconciliationDiscrepancy> findDiscrepancies(String runId) {
+        return discrepancyRepository.findByRunIdOrderByReservationIdAsc(runId);
+    }
+
+    private ReconciliationSummaryDTO run() {
+        String runId = UUID.randomUUID().toString();
+        Date startedAt = new Date();
+        long[] bounds = readTransaction.execute(status -> jdbcTemplate.queryForObject(BOUNDS_SQL,
+                (rs, rowNum) -> new long[] { rs.getLong(1), rs.getLong(2) }));
+
+        Tally tally = Tally.EMPTY;
+        // MIN/MAX are NULL (read as 0) when there is no COMPLETED reservation
+        if (bounds != null && bounds[1] > 0) {
+            try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+                tally = pool.invoke(new RangeTask(runId, bounds[0] - 1, bounds[1]));
+            }
+        }
+
+        Date finishedAt = new Date();
+        ReconciliationSummaryDTO summary = ReconciliationSummaryDTO.builder()
+                .runId(runId)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .durationMillis(finishedAt.getTime() - startedAt.getTime())
+                .parallelism(parallelism)
+                .reservationsChecked(tally.checked())
+                .missingPayments(tally.missing())
+                .paymentsNotCompleted(tally.notCompleted())
+                .amountMismatches(tally.mismatched())
+                .build();
+        log.info("Reconciliation {} finished: {} reservations checked, {} discrepancies in {} ms",
+                runId, summary.getReservationsChecked(), summary.getDiscrepancies(), summary.getDurationMillis());
+        return summary;
+    }
+
+    // Reconciles reservations with id in (afterId, lastId]
+    private final class RangeTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final String runId;
+        private final long afterId;
+        private final long lastId;
+
+        RangeTask(String runId, long afterId, long lastId) {
+            this.runId = runId;
+            this.afterId = afterId;
+            this.lastId = lastId;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (lastId - afterId <= rangeSpan) {
+                return reconcileRange(runId, afterId, lastId);
+            }
+            long middle = afterId + (lastId - afterId) / 2;
+            RangeTask left = new RangeTask(runId, afterId, middle);
+            left.fork();
+            Tally right = new RangeTask(runId, middle, lastId).compute();
+            return left.join().plus(right);
+        }
+    }
+
+    private Tally reconcileRange(String runId, long afterId, long lastId) {
+        Tally tally = Tally.EMPTY;
+        long cursor = afterId;
+        while (true) {
+            long from = cursor;
+            Chunk chunk = readTransaction.execute(status -> readChunk(from, lastId));
+            if (chunk == null || chunk.reservations().isEmpty()) {
+                break;
+            }
+            List<ReconciliationDiscrepancy> found = mergeJoin(runId, chunk);
+            if (!found.isEmpty()) {
+                writeTransaction.executeWithoutResult(status -> insert(found));
+            }
+            tally = tally.plus(Tally.of(chunk.reservations().size(), found));
+            cursor = chunk.reservations().get(chunk.reservations().size() - 1).id();
+            if (chunk.reservations().size() < chunkSize) {
+                break;
+            }
+        }
+        return tally;
+    }
+
+    private Chunk readChunk(long afterId, long lastId) {
+        List<ReservationRow> reservations = jdbcTemplate.query(RESERVATION_CHUNK_SQL,
+                (rs, rowNum) -> new ReservationRow(rs.getLong(1), (Long) rs.getObject(2)),
+                afterId, lastId, chunkSize);
+        if (reservations.isEmpty()) {
+            return new Chunk(reservations, List.of());
+        }
+        List<PaymentRow> payments = jdbcTemplate.query(PAYMENT_CHUNK_SQL,
+                (rs, rowNum) -> new PaymentRow(rs.getLong(1), rs.getLong(2), rs.getLong(3),
+                        PaymentStatus.valueOf(rs.getString(4))),
+                reservations.get(0).id(), reservations.get(reservations.size() - 1).id());
+        return new Chunk(reservations, payments);
+    }
+
+    // Both lists are ordered by reservation id; payments of reservations that are not COMPLETED are stepped over
+    private List<ReconciliationDiscrepancy> mergeJoin(String runId, Chunk chunk) {
+        List<ReconciliationDiscrepancy> found = new ArrayList<>();
+        List<PaymentRow> payments = chunk.payments();
+        Date now = new Date();
+        int p = 0;
+        for (ReservationRow reservation : chunk.reservations()) {
+            while (p < payments.size() && payments.get(p).reservationId() < reservation.id()) {
+                p++;
+            }
+            PaymentRow completed = null;
+            PaymentRow other = null;
+            while (p < payments.size() && payments.get(p).reservationId() == reservation.id()) {
+                PaymentRow payment = payments.get(p++);
+                if (payment.status() == PaymentStatus.COMPLETED) {
+                    completed = completed == null ? payment : completed;
+                } else if (other == null) {
+                    other = payment;
+                }
+            }
+
+            if (completed == null && other == null) {
+                found.add(discrepancy(runId, reservation, null, DiscrepancyType.MISSING_PAYMENT, now));
+            } else if (completed == null) {
+                found.add(discrepancy(runId, reservation, other, DiscrepancyType.PAYMENT_NOT_COMPLETED, now));
+            } else if (reservation.totalPriceCents() != null
+                    && !Objects.equals(reservation.totalPriceCents(), completed.amountCents())) {
+                // Reservations without a price have nothing to compare the payment against
+                found.add(discrepancy(runId, reservation, completed, DiscrepancyType.AMOUNT_MISMATCH, now));
+            }
+        }
+        return found;
+    }
+
+    private ReconciliationDiscrepancy discrepancy(String runId, ReservationRow reservation, PaymentRow payment,
+                                                  DiscrepancyType type, Date detectedAt) {
+        return ReconciliationDiscrepancy.builder()
+                .runId(runId)
+                .reservationId(reservation.id())
+                .paymentId(payment != null ? payment.id() : null)
+                .type(type)
+                .expectedAmountCents(reservation.totalPriceCents())
+                .actualAmountCents(payment != null ? payment.amountCents() : null)
+                .detectedAt(detectedAt)
+                .build();
+    }
+
+    private void insert(List<ReconciliationDiscrepancy> found) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, found, found.size(), (ps, d) -> {
+            ps.setString(1, d.getRunId());
+            ps.setLong(2, d.getReservationId());
+            ps.setObject(3, d.getPaymentId());
+            ps.setString(4, d.getType().name());
+            ps.setObject(5, d.getExpectedAmountCents());
+            ps.setObject(6, d.getActualAmountCents());
+            ps.setTimestamp(7, new Timestamp(d.getDetectedAt().getTime()));
+        });
+    }
+
+    private record ReservationRow(long id, Long totalPriceCents) {
+    }
+
+    private record PaymentRow(long id, long reservationId, long amountCents, PaymentStatus status) {
+    }
+
+    private record Chunk(List<ReservationRow> reservations, List<PaymentRow> payments) {
+    }
+
+    private record Tally(long checked, long missing, long notCompleted, long mismatched) {
+        static final Tally EMPTY = new Tally(0, 0, 0, 0);
+
+        static Tally of(int checked, List<ReconciliationDiscrepancy> found) {
+            long missing = 0, notCompleted = 0, mismatched = 0;
+            for (ReconciliationDiscrepancy d : found) {
+                switch (d.getType()) {
+                    case MISSING_PAYMENT -> missing++;
+                    case PAYMENT_NOT_COMPLETED -> notCompleted++;
+                    case AMOUNT_MISMATCH -> mismatched++;
+                }
+            }
+            return new Tally(checked, missing, notCompleted, mismatched);
+        }
+
+        Tally plus(Tally other) {
+            return new Tally(checked + other.checked, missing + other.missing,
+                    notCompleted + other.notCompleted, mismatched + other.mismatched);
+        }
+    }
+}
@@ -11,17 +11,24 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.PaymentDTO;
+import com.parking.parking_management_sys.dto.PaymentSummaryDTO;
 import com.parking.parking_management_sys.entities.Driver;
 import com.parking.parking_management_sys.entities.Payment;
 import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
 import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
 import com.parking.parking_management_sys.entities.Reservation;
 import com.parking.parking_management_sys.exceptions.InvalidPaymentException;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeRequest;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeResult;
+import com.parking.parking_management_sys.services.DriverSummaryService.PaymentKey;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
 import com.parking.parking_management_sys.repository.DriverRepository;
 import com.parking.parking_management_sys.repository.PaymentRepository;
 import com.parking.parking_management_sys.repository.ReservationRepository;
+import com.parking.parking_management_sys.util.KeysetCursor;
+import com.parking.parking_management_sys.util.Money;
 
 @Service
 public class PaymentService {
@@ -35,27 +42,37 @@ public class PaymentService {
     @Autowired
     private ReservationRepository reservationRepository;
     
-    // Find all payments
-    public List<Payment> findAll() {
-        return paymentRepository.findAll();
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+    
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+    
+    // Find one page of payments in id order
+    @Transactional(readOnly = true)
+    public CursorPageDTO<PaymentSummaryDTO> findAll(String cursor, int limit) {
+        return CursorPageDTO.of(
+            paymentRepository.findSummariesAfter(KeysetCursor.decode(cursor), KeysetCursor.fetchLimit(limit)),
+            limit, PaymentSummaryDTO::getId);
     }
     
     // Find payment by ID
+    @Transactional(readOnly = true)
     public Optional<Payment> findById(Long id) {
-        return paymentRepository.findById(id);
+        return paymentRepository.findDetailedById(id);
     }
     
     // Save new payment
     @Transactional
     public Payment save(PaymentDTO paymentDTO) {
         // Get driver entity
-        Driver driver = driverRepository.findById(paymentDTO.getDriverId())
+        Driver driver = driverRepository.findByDriverIdAndDeletedAtIsNull(paymentDTO.getDriverId())
             .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + paymentDTO.getDriverId()));
         
         // Get reservation entity if provided
         Reservation reservation = null;
         if (paymentDTO.getReservationId() != null) {
-            reservation = reservationRepository.findById(paymentDTO.getReservationId())
+            reservation = reservationRepository.findDetailedById(paymentDTO.getReservationId())
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + paymentDTO.getReservationId()));
         }
         
@@ -75,14 +92,20 @@ public class PaymentService {
         payment.setTransactionId(paymentDTO.getTransactionId() != null ? 
                 paymentDTO.getTransactionId() : generateTransactionId());
         
-        return paymentRepository.save(payment);
+        Payment savedPayment = paymentRepository.save(payment);
+        paymentAggregateService.recordChange(null, savedPayment);
+        driverSummaryService.recordPaymentChange(null, savedPayment);
+        return savedPayment;
     }
     
     // Update payment
     @Transactional
     public Payment update(Long id, PaymentDTO paymentDTO) {
-        Payment existingPayment = paymentRepository.findById(id)
+        lockForUpdate(id);
+        Payment existingPayment = paymentRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        PaymentAggregateService.Snapshot before = PaymentAggregateService.Snapshot.of(existingPayment);
+        PaymentKey beforeKey = PaymentKey.of(existingPayment);
         
         // Update fields only if they are provided in the DTO
         if (paymentDTO.getAmount() != null) {
@@ -103,24 +126,28 @@ public class PaymentService {
         
         // Update driver if provided
         if (paymentDTO.getDriverId() != null) {
-            Driver driver = driverRepository.findById(paymentDTO.getDriverId())
+            Driver driver = driverRepository.findByDriverIdAndDeletedAtIsNull(paymentDTO.getDriverId())
                 .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + paymentDTO.getDriverId()));
             existingPayment.setDriver(driver);
         }
         
         // Update reservation if provided
         if (paymentDTO.getReservationId() != null) {
-            Reservation reservation = reservationRepository.findById(paymentDTO.getReservationId())
+            Reservation reservation = reservationRepository.findDetailedById(paymentDTO.getReservationId())
                 .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + paymentDTO.getReservationId()));
             existingPayment.setReservation(reservation);
         }
         
-        return paymentRepository.save(existingPayment);
+        Payment updatedPayment = paymentRepository.save(existingPayment);
+        paymentAggregateService.recordChange(before, updatedPayment);
+        driverSummaryService.recordPaymentChange(beforeKey, updatedPayment);
+        return updatedPayment;
     }
     
     // Delete payment
     @Transactional
     public Map<String, Boolean> delete(Long id) {
+        lockForUpdate(id);
         Payment payment = paymentRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
         
@@ -130,6 +157,8 @@ public class PaymentService {
         }
         
         paymentRepository.delete(payment);
+        paymentAggregateService.recordChange(PaymentAggregateService.Snapshot.of(payment), null);
+        driverSummaryService.recordPaymentChange(PaymentKey.of(payment), null);
         
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
@@ -137,40 +166,55 @@ public class PaymentService {
     }
     
     // Find payments by driver
-    public List<Payment> findByDriver(Long driverId) {
-        Driver driver = driverRepository.findById(driverId)
-            .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
+    @Transactional(readOnly = true)
+    public List<PaymentSummaryDTO> findByDriver(Long driverId) {
+        if (!driverRepository.existsById(driverId)) {
+            throw new ResourceNotFoundException("Driver not found with id: " + driverId);
+        }
         
-        return paymentRepository.findByDriver(driver);
+        return paymentRepository.findSummariesByDriverId(driverId);
     }
     
     // Find payments by reservation
-    public List<Payment> findByReservation(Long reservationId) {
-        Reservation reservation = reservationRepository.findById(reservationId)
-            .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + reservationId));
+    @Transactional(readOnly = true)
+    public List<PaymentSummaryDTO> findByReservation(Long reservationId) {
+        if (!reservationRepository.existsById(reservationId)) {
+            throw new ResourceNotFoundException("Reservation not found with id: " + reservationId);
+        }
         
-        return paymentRepository.findByReservation(reservation);
+        return paymentRepository.findSummariesByReservationId(reservationId);
     }
     
     // Find payments by status
-    public List<Payment> findByStatus(PaymentStatus status) {
-        return paymentRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<PaymentSummaryDTO> findByStatus(PaymentStatus status) {
+        return paymentRepository.findSummariesByStatus(status);
     }
     
     // Find payments by payment method
-    public List<Payment> findByPaymentMethod(PaymentMethod paymentMethod) {
-        return paymentRepository.findByPaymentMethod(paymentMethod);
+    @Transactional(readOnly = true)
+    public List<PaymentSummaryDTO> findByPaymentMethod(PaymentMethod paymentMethod) {
+        return paymentRepository.findSummariesByPaymentMethod(paymentMethod);
     }
     
     // Find payments by date range
-    public List<Payment> findByDateRange(Date startDate, Date endDate) {
-        return paymentRepository.findByPaymentDateBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<PaymentSummaryDTO> findByDateRange(Date startDate, Date endDate) {
+        return paymentRepository.findSummariesByPaymentDateBetween(startDate, endDate);
+    }
+    
+    // Serialize changes to one payment: the aggregate and driver summary deltas are computed from the
+    // row as read, so two concurrent changes must not both start from the same old state
+    private void lockForUpdate(Long id) {
+        paymentRepository.lockById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
     }
     
     // Process payment
     @Transactional
     public Payment processPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        lockForUpdate(id);
+        Payment payment = paymentRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
         
         // Check if payment can be processed
@@ -180,15 +224,56 @@ public class PaymentService {
         
         // Here you would typically integrate with a payment gateway
         // For demonstration, we'll just mark it as completed
+        PaymentAggregateService.Snapshot before = PaymentAggregateService.Snapshot.of(payment);
+        PaymentKey beforeKey = PaymentKey.of(payment);
         payment.setStatus(PaymentStatus.COMPLETED);
         
-        return paymentRepository.save(payment);
+        Payment processedPayment = paymentRepository.save(payment);
+        paymentAggregateService.recordChange(before, processedPayment);
+        driverSummaryService.recordPaymentChange(beforeKey, processedPayment);
+        return processedPayment;
+    }
+    
+    // Read what the gateway needs for a PENDING payment; the transaction ends before the gateway is called
+    @Transactional(readOnly = true)
+    public ChargeRequest prepareProcessing(Long id) {
+        Payment payment = paymentRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        
+        if (!PaymentStatus.PENDING.equals(payment.getStatus())) {
+            throw new InvalidPaymentException("Payment cannot be processed because it is not in PENDING status");
+        }
+        
+        return new ChargeRequest(payment.getId(), payment.getAmount(), payment.getPaymentMethod(), payment.getTransactionId());
+    }
+    
+    // Apply a gateway outcome in a fresh short transaction
+    @Transactional
+    public Payment completeProcessing(Long id, ChargeResult result) {
+        lockForUpdate(id);
+        Payment payment = paymentRepository.findDetailedById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
+        
+        // Another request may have moved the payment while the gateway call was in flight
+        if (!PaymentStatus.PENDING.equals(payment.getStatus())) {
+            throw new InvalidPaymentException("Payment left PENDING status while it was being processed");
+        }
+        
+        PaymentAggregateService.Snapshot before = PaymentAggregateService.Snapshot.of(payment);
+        PaymentKey beforeKey = PaymentKey.of(payment);
+        payment.setStatus(result.approved() ? PaymentStatus.COMPLETED : PaymentStatus.FAILED);
+        
+        Payment processedPayment = paymentRepository.save(payment);
+        paymentAggregateService.recordChange(before, processedPayment);
+        driverSummaryService.recordPaymentChange(beforeKey, processedPayment);
+        return processedPayment;
     }
     
     // Refund payment
     @Transactional
     public Payment refundPayment(Long id) {
-        Payment payment = paymentRepository.findById(id)
+        lockForUpdate(id);
+        Payment payment = paymentRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Payment not found with id: " + id));
         
         // Check if payment can be refunded
@@ -198,23 +283,32 @@ public class PaymentService {
         
         // Here you would typically integrate with a payment gateway for refund
         // For demonstration, we'll just mark it as refunded
+        PaymentAggregateService.Snapshot before = PaymentAggregateService.Snapshot.of(payment);
+        PaymentKey beforeKey = PaymentKey.of(payment);
         payment.setStatus(PaymentStatus.REFUNDED);
         
-        return paymentRepository.save(payment);
+        Payment refundedPayment = paymentRepository.save(payment);
+        paymentAggregateService.recordChange(before, refundedPayment);
+        driverSummaryService.recordPaymentChange(beforeKey, refundedPayment);
+        return refundedPayment;
     }
     
-    // Calculate total payments by status and date range
-    public Double calculateTotalByStatusAndDateRange(PaymentStatus status, Date startDate, Date endDate) {
-        Double total = paymentRepository.calculateTotalAmountByStatusAndDateRange(status, startDate, endDate);
-        return total != null ? total : 0.0;
+    // Calculate total payments by status and date range (served from the daily aggregates)
+    public Money calculateTotalByStatusAndDateRange(PaymentStatus status, Date startDate, Date endDate) {
+        if (startDate.after(endDate)) {
+            throw new InvalidPaymentException("Start date cannot be after end date");
+        }
+        return paymentAggregateService.calculateTotal(status, startDate, endDate);
+    }
+    
+    // Recompute the daily aggregates from the payment table
+    public int rebuildAggregates() {
+        return paymentAggregateService.rebuild();
     }
     
     // Count payments by driver and status
     public Long countByDriverAndStatus(Long driverId, PaymentStatus status) {
-        Driver driver = driverRepository.findById(driverId)
-            .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
-        
-        return paymentRepository.countByDriverAndStatus(driver, status);
+        return driverSummaryService.getSummary(driverId).paymentCount(status);
     }
     
     // Generate unique transaction ID
@@ -224,7 +318,7 @@ public class PaymentService {
     
     // Validate payment
     private void validatePayment(PaymentDTO paymentDTO) {
-        if (paymentDTO.getAmount() == null || paymentDTO.getAmount() <= 0) {
+        if (paymentDTO.getAmount() == null || !paymentDTO.getAmount().isPositive()) {
             throw new InvalidPaymentException("Payment amount must be greater than zero");
         }
         
@@ -0,0 +1,227 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.parking.parking_management_sys.dto.PendingPaymentView;
+import com.parking.parking_management_sys.dto.SettlementSummaryDTO;
+import com.parking.parking_management_sys.entities.Payment.PaymentStatus;
+import com.parking.parking_management_sys.exceptions.OperationInProgressException;
+import com.parking.parking_management_sys.gateway.PaymentGateway;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeRequest;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeResult;
+import com.parking.parking_management_sys.repository.PaymentRepository;
+import com.parking.parking_management_sys.repository.PaymentSettlementRepository.SettledPayment;
+import com.parking.parking_management_sys.services.DriverSummaryService.PaymentKey;
+import com.parking.parking_management_sys.util.Money;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * End-of-shift settlement of every PENDING payment.
+ * Payments are read in id-ordered keyset chunks, charged through the gateway in parallel
+ * (bounded by payment.settlement.concurrency), and each chunk's outcome is committed in one
+ * transaction with two guarded set-based updates and one aggregate upsert per bucket.
+ * A gateway error (timeout, transport failure) is not a decline: the charge may have gone
+ * through, so the payment stays PENDING, is counted as errored, and the next run retries it.
+ * Each payment is claimed in PaymentChargeClaims before its charge, so one the async pipeline is
+ * processing is left to it rather than charged twice.
+ * A payment only settles if it is still PENDING with the amount, driver, method and date it was
+ * charged with; an approved charge that cannot be applied is logged and reported as needing a void.
+ */
+@Service
+@Slf4j
+public class PaymentSettlementService {
+
+    @Autowired
+    private PaymentRepository paymentRepository;
+
+    @Autowired
+    private PaymentAggregateService paymentAggregateService;
+
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+
+    @Autowired
+    private PaymentGateway paymentGateway;
+
+    @Autowired
+    private PaymentChargeClaims chargeClaims;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${payment.settlement.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${payment.settlement.concurrency:32}")
+    private int concurrency;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    // What the gateway said about one charge
+    private enum Outcome {
+        APPROVED,
+        DECLINED,
+        ERRORED
+    }
+
+    public SettlementSummaryDTO settlePending() {
+        if (!running.compareAndSet(false, true)) {
+            throw new OperationInProgressException("A settlement run is already in progress");
+        }
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            return run(executor);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private SettlementSummaryDTO run(ExecutorService executor) {
+        SettlementSummaryDTO summary = SettlementSummaryDTO.builder().startedAt(new Date()).build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Semaphore permits = new Semaphore(concurrency);
+
+        long afterId = 0L;
+        while (true) {
+            List<PendingPaymentView> chunk = paymentRepository.findByStatusAndIdGreaterThanOrderByIdAsc(
+                    PaymentStatus.PENDING, afterId, PageRequest.of(0, chunkSize));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            settleChunk(chunk, executor, permits, transaction, summary);
+            summary.setChunks(summary.getChunks() + 1);
+            summary.setScanned(summary.getScanned() + chunk.size());
+            afterId = chunk.get(chunk.size() - 1).getId();
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        summary.setFinishedAt(new Date());
+        summary.setDurationMillis(summary.getFinishedAt().getTime() - summary.getStartedAt().getTime());
+        log.info("Settlement finished: {} scanned, {} completed, {} failed, {} errored, {} in async processing, "
+                + "{} skipped, {} need a void in {} ms",
+                summary.getScanned(), summary.getCompleted(), summary.getFailed(), summary.getErrored(),
+                summary.getInProcessing(), summary.getSkipped(), summary.getNeedsVoid(), summary.getDurationMillis());
+        return summary;
+    }
+
+    private void settleChunk(List<PendingPaymentView> pending, ExecutorService executor, Semaphore permits,
+                             TransactionTemplate transaction, SettlementSummaryDTO summary) {
+        // Payments the async pipeline is charging right now are left to it
+        List<PendingPaymentView> chunk = new ArrayList<>(pending.size());
+        for (PendingPaymentView payment : pending) {
+            if (chargeClaims.tryClaim(payment.getId())) {
+                chunk.add(payment);
+            }
+        }
+        summary.setInProcessing(summary.getInProcessing() + pending.size() - chunk.size());
+        try {
+            chargeAndApply(chunk, executor, permits, transaction, summary);
+        } finally {
+            chunk.forEach(payment -> chargeClaims.release(payment.getId()));
+        }
+    }
+
+    private void chargeAndApply(List<PendingPaymentView> chunk, ExecutorService executor, Semaphore permits,
+                                TransactionTemplate transaction, SettlementSummaryDTO summary) {
+        // Gateway calls run in parallel and outside any transaction
+        List<Future<ChargeResult>> futures = new ArrayList<>(chunk.size());
+        for (PendingPaymentView payment : chunk) {
+            futures.add(executor.submit(() -> {
+                permits.acquire();
+                try {
+                    return paymentGateway.charge(new ChargeRequest(payment.getId(), Money.ofCents(payment.getAmountCents()),
+                            payment.getPaymentMethod(), payment.getTransactionId()));
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+
+        List<PendingPaymentView> approved = new ArrayList<>();
+        List<PendingPaymentView> declined = new ArrayList<>();
+        int errored = 0;
+        for (int i = 0; i < chunk.size(); i++) {
+            switch (outcome(futures.get(i), chunk.get(i).getId())) {
+                case APPROVED -> approved.add(chunk.get(i));
+                case DECLINED -> declined.add(chunk.get(i));
+                case ERRORED -> errored++;
+            }
+        }
+        // Errored payments are left PENDING for the next run
+        summary.setErrored(summary.getErrored() + errored);
+
+        transaction.executeWithoutResult(status -> {
+            Set<Long> completed = applyOutcome(approved, PaymentStatus.COMPLETED, summary);
+            Set<Long> failed = applyOutcome(declined, PaymentStatus.FAILED, summary);
+            summary.setCompleted(summary.getCompleted() + completed.size());
+            summary.setFailed(summary.getFailed() + failed.size());
+            summary.setSkipped(summary.getSkipped() + declined.size() - failed.size());
+
+            List<Long> unapplied = approved.stream()
+                    .map(PendingPaymentView::getId)
+                    .filter(id -> !completed.contains(id))
+                    .toList();
+            if (!unapplied.isEmpty()) {
+                log.warn("Approved charges for payments {} were not applied because the payments changed "
+                        + "or were settled elsewhere meanwhile; they must be voided", unapplied);
+                summary.setNeedsVoid(summary.getNeedsVoid() + unapplied.size());
+                summary.getNeedsVoidPaymentIds().addAll(unapplied);
+            }
+        });
+    }
+
+    private Outcome outcome(Future<ChargeResult> future, Long paymentId) {
+        try {
+            return future.get().approved() ? Outcome.APPROVED : Outcome.DECLINED;
+        } catch (ExecutionException e) {
+            log.warn("Gateway call failed for payment {}, leaving it pending: {}", paymentId, e.getCause().getMessage());
+            return Outcome.ERRORED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Settlement interrupted", e);
+        }
+    }
+
+    // Only rows still PENDING and exactly as charged move; the deltas come from the rows the UPDATE returned
+    private Set<Long> applyOutcome(List<PendingPaymentView> charged, PaymentStatus target, SettlementSummaryDTO summary) {
+        if (charged.isEmpty()) {
+            return Set.of();
+        }
+        List<SettledPayment> moved = paymentRepository.settleIfUnchanged(charged, target);
+        Set<Long> movedIds = new HashSet<>(moved.size() * 2);
+        List<PaymentAggregateService.Snapshot> snapshots = new ArrayList<>(moved.size());
+        List<PaymentKey> keys = new ArrayList<>(moved.size());
+        for (SettledPayment payment : moved) {
+            movedIds.add(payment.id());
+            keys.add(new PaymentKey(payment.driverId(), PaymentStatus.PENDING, payment.amountCents()));
+            snapshots.add(new PaymentAggregateService.Snapshot(
+                    PaymentAggregateService.toDay(payment.paymentDate()), PaymentStatus.PENDING,
+                    payment.paymentMethod(), payment.amountCents()));
+            if (target == PaymentStatus.COMPLETED) {
+                summary.setSettledAmount(summary.getSettledAmount().plus(Money.ofCents(payment.amountCents())));
+            }
+        }
+        paymentAggregateService.recordStatusChange(snapshots, target);
+        driverSummaryService.recordPaymentStatusChange(keys, target);
+        return movedIds;
+    }
+}
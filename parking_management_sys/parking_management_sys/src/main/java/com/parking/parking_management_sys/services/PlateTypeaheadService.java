@@ -0,0 +1,143 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.parking.parking_management_sys.dto.PlateMatchDTO;
+import com.parking.parking_management_sys.util.AfterCommit;
+import com.parking.parking_management_sys.util.LicensePlates;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory prefix index over license plates for gate typeahead.
+ * Plates are keyed by LicensePlates.searchKey in a skip list, so a prefix lookup is one
+ * O(log n) seek followed by reading the next k keys, with no database round trip.
+ * DriverService pushes every plate change after its transaction commits; a periodic reload
+ * picks up writes made by other application instances.
+ */
+@Service
+@Slf4j
+public class PlateTypeaheadService {
+
+    public static final int MAX_LIMIT = 50;
+
+    // Separates the plate key from the driver id so plates that normalize alike can coexist
+    private static final char KEY_SEPARATOR = '\u0000';
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${driver.typeahead.load-fetch-size:5000}")
+    private int loadFetchSize;
+
+    private volatile Index index = new Index();
+
+    // Non-null while a reload is running: writes made meanwhile are replayed onto the new index
+    private List<Consumer<Index>> pendingReplay;
+
+    /**
+     * Drivers whose normalized plate starts with the normalized prefix, in plate order
+     */
+    public List<PlateMatchDTO> suggest(String prefix, int limit) {
+        String key = LicensePlates.searchKey(prefix);
+        int cappedLimit = Math.min(Math.max(limit, 1), MAX_LIMIT);
+        List<PlateMatchDTO> matches = new ArrayList<>(cappedLimit);
+        if (key.isEmpty()) {
+            return matches;
+        }
+        for (Map.Entry<String, Entry> hit : index.byKey.tailMap(key, true).entrySet()) {
+            if (!hit.getKey().startsWith(key) || matches.size() == cappedLimit) {
+                break;
+            }
+            matches.add(new PlateMatchDTO(hit.getValue().driverId(), hit.getValue().licensePlate()));
+        }
+        return matches;
+    }
+
+    /**
+     * Add or move a driver's plate once the surrounding transaction commits
+     */
+    public void upsert(Long driverId, String licensePlate) {
+        AfterCommit.run(() -> apply(current -> current.put(driverId, licensePlate)));
+    }
+
+    /**
+     * Drop a driver's plate once the surrounding transaction commits
+     */
+    public void remove(Long driverId) {
+        AfterCommit.run(() -> apply(current -> current.remove(driverId)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        reload();
+    }
+
+    @Scheduled(cron = "${driver.typeahead.reload-cron:0 15 * * * *}")
+    public void reload() {
+        synchronized (this) {
+            if (pendingReplay != null) {
+                return;
+            }
+            pendingReplay = new ArrayList<>();
+        }
+        try {
+            Index loaded = new Index();
+            JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getDataSource());
+            streaming.setFetchSize(loadFetchSize);
+            streaming.query("SELECT driver_id, license_plate FROM drivers WHERE deleted_at IS NULL",
+                    rs -> { loaded.put(rs.getLong(1), rs.getString(2)); });
+            synchronized (this) {
+                pendingReplay.forEach(change -> change.accept(loaded));
+                index = loaded;
+            }
+            log.info("Loaded plate typeahead index: {} plates", loaded.keyById.size());
+        } finally {
+            synchronized (this) {
+                pendingReplay = null;
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Index> change) {
+        change.accept(index);
+        if (pendingReplay != null) {
+            pendingReplay.add(change);
+        }
+    }
+
+    private record Entry(long driverId, String licensePlate) {
+    }
+
+    private static final class Index {
+        private final ConcurrentSkipListMap<String, Entry> byKey = new ConcurrentSkipListMap<>();
+        private final Map<Long, String> keyById = new ConcurrentHashMap<>();
+
+        void put(long driverId, String licensePlate) {
+            remove(driverId);
+            String key = LicensePlates.searchKey(licensePlate) + KEY_SEPARATOR + driverId;
+            byKey.put(key, new Entry(driverId, licensePlate));
+            keyById.put(driverId, key);
+        }
+
+        void remove(long driverId) {
+            String key = keyById.remove(driverId);
+            if (key != null) {
+                byKey.remove(key);
+            }
+        }
+    }
+}
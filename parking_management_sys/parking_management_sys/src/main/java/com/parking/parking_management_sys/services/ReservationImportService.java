@@ -0,0 +1,237 @@
+package com.parking.parking_management_sys.services;
+
+import com.parking.parking_management_sys.dto.ImportReportDTO;
+import com.parking.parking_management_sys.dto.ImportReportDTO.RowResult;
+import com.parking.parking_management_sys.dto.ReservationIntervalView;
+import com.parking.parking_management_sys.entities.Reservation.ReservationStatus;
+import com.parking.parking_management_sys.exceptions.InvalidReservationException;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.repository.ParkingSpotRepository;
+import com.parking.parking_management_sys.repository.ReservationRepository;
+import com.parking.parking_management_sys.util.ImportRecordReader;
+import com.parking.parking_management_sys.util.RecordFormat;
+import com.parking.parking_management_sys.util.ImportRecordReader.Record;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Streaming bulk import of reservations from CSV or NDJSON uploads.
+ * Rows are processed in chunks: spot and driver ids are resolved with one query each,
+ * conflicts are checked against existing bookings and earlier rows with one interval query,
+ * and accepted rows are written with a single JDBC batch per chunk.
+ */
+@Service
+@Slf4j
+public class ReservationImportService {
+
+    private static final String INSERT_SQL =
+        "INSERT INTO reservation (start_time, end_time, status, spot_id, driver_id, created_at, updated_at) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${reservation.import.chunk-size:1000}")
+    private int chunkSize;
+
+    private record PendingRow(int row, Long spotId, Long driverId, Date startTime, Date endTime) {
+    }
+
+    public ImportReportDTO importReservations(InputStream input, RecordFormat format) throws IOException {
+        ImportReportDTO report = ImportReportDTO.builder().build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        try (ImportRecordReader reader = new ImportRecordReader(input, format, objectMapper)) {
+            List<PendingRow> chunk = new ArrayList<>(chunkSize);
+            Record record;
+            while ((record = reader.next()) != null) {
+                PendingRow row = parseRow(record, report);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    flushChunk(chunk, transaction, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                flushChunk(chunk, transaction, report);
+            }
+        }
+
+        report.getRows().sort(Comparator.comparingInt(RowResult::getRow));
+        log.info("Reservation import finished: {} imported, {} rejected", report.getImported(), report.getRejected());
+        return report;
+    }
+
+    private PendingRow parseRow(Record record, ImportReportDTO report) {
+        if (record.error() != null) {
+            report.reject(record.row(), record.error());
+            return null;
+        }
+        try {
+            PendingRow row = new PendingRow(record.row(),
+                parseId(record.get("spotId"), "spotId"),
+                parseId(record.get("driverId"), "driverId"),
+                parseDate(record.get("startTime")),
+                parseDate(record.get("endTime")));
+            reservationService.validateReservationDates(row.startTime(), row.endTime());
+            return row;
+        } catch (InvalidReservationException e) {
+            report.reject(record.row(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void flushChunk(List<PendingRow> chunk, TransactionTemplate transaction, ImportReportDTO report) {
+        List<PendingRow> accepted = new ArrayList<>();
+        try {
+            transaction.executeWithoutResult(status -> {
+                Set<Long> spots = new HashSet<>(parkingSpotRepository.findExistingIds(
+                    chunk.stream().map(PendingRow::spotId).distinct().toList()));
+                Set<Long> drivers = new HashSet<>(driverRepository.findExistingIds(
+                    chunk.stream().map(PendingRow::driverId).distinct().toList()));
+
+                Map<Long, List<Date[]>> booked = loadBookedIntervals(chunk, spots);
+                for (PendingRow row : chunk) {
+                    if (!spots.contains(row.spotId())) {
+                        report.reject(row.row(), "ParkingSpot not found with id: " + row.spotId());
+                    } else if (!drivers.contains(row.driverId())) {
+                        report.reject(row.row(), "Driver not found with id: " + row.driverId());
+                    } else if (overlaps(booked.get(row.spotId()), row)) {
+                        report.reject(row.row(), "Parking spot is not available for the requested time period");
+                    } else {
+                        booked.computeIfAbsent(row.spotId(), id -> new ArrayList<>())
+                            .add(new Date[] {row.startTime(), row.endTime()});
+                        accepted.add(row);
+                    }
+                }
+                insertBatch(accepted);
+                driverSummaryService.recordReservationsCreated(
+                    accepted.stream().map(PendingRow::driverId).toList(), ReservationStatus.PENDING);
+            });
+            accepted.forEach(row -> report.accept(row.row()));
+        } catch (DataAccessException e) {
+            log.error("Reservation import chunk failed", e);
+            accepted.forEach(row -> report.reject(row.row(), "Batch insert failed: " + e.getMostSpecificCause().getMessage()));
+        }
+    }
+
+    // One query for every non-cancelled booking that could collide with a row in this chunk
+    private Map<Long, List<Date[]>> loadBookedIntervals(List<PendingRow> chunk, Set<Long> spots) {
+        Map<Long, List<Date[]>> booked = new HashMap<>();
+        if (spots.isEmpty()) {
+            return booked;
+        }
+        Date from = chunk.stream().map(PendingRow::startTime).min(Date::compareTo).orElseThrow();
+        Date to = chunk.stream().map(PendingRow::endTime).max(Date::compareTo).orElseThrow();
+        for (ReservationIntervalView interval : reservationRepository.findIntervalsForSpots(
+                spots, from, to, ReservationStatus.CANCELLED)) {
+            booked.computeIfAbsent(interval.getSpotId(), id -> new ArrayList<>())
+                .add(new Date[] {interval.getStartTime(), interval.getEndTime()});
+        }
+        return booked;
+    }
+
+    // Same inclusive overlap rule as ReservationRepository.findOverlappingReservations
+    private boolean overlaps(List<Date[]> intervals, PendingRow row) {
+        if (intervals == null) {
+            return false;
+        }
+        for (Date[] interval : intervals) {
+            if (!interval[0].after(row.endTime()) && !interval[1].before(row.startTime())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void insertBatch(List<PendingRow> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setTimestamp(1, new Timestamp(row.startTime().getTime()));
+            ps.setTimestamp(2, new Timestamp(row.endTime().getTime()));
+            ps.setString(3, ReservationStatus.PENDING.name());
+            ps.setLong(4, row.spotId());
+            ps.setLong(5, row.driverId());
+            ps.setTimestamp(6, now);
+            ps.setTimestamp(7, now);
+        });
+    }
+
+    private Long parseId(String value, String field) {
+        if (value == null) {
+            throw new InvalidReservationException(field + " is required");
+        }
+        try {
+            return Long.valueOf(value.trim());
+        } catch (NumberFormatException e) {
+            throw new InvalidReservationException(field + " must be a number: " + value);
+        }
+    }
+
+    // Accepts the controllers' yyyy-MM-dd'T'HH:mm:ss format (server time zone) or epoch milliseconds
+    private Date parseDate(String value) {
+        if (value == null) {
+            throw new InvalidReservationException("Start time and end time cannot be null");
+        }
+        String trimmed = value.trim();
+        try {
+            if (trimmed.chars().allMatch(Character::isDigit)) {
+                return Date.from(Instant.ofEpochMilli(Long.parseLong(trimmed)));
+            }
+            return Date.from(LocalDateTime.parse(trimmed).atZone(ZoneId.systemDefault()).toInstant());
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidReservationException("Invalid date: " + value);
+        }
+    }
+}
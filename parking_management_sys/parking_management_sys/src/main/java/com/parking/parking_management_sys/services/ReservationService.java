@@ -7,19 +7,38 @@ import com.parking.parking_management_sys.entities.Driver;
 import com.parking.parking_management_sys.repository.ReservationRepository;
 import com.parking.parking_management_sys.repository.ParkingSpotRepository;
 import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.dto.BulkReservationTransitionDTO;
+import com.parking.parking_management_sys.dto.CursorPageDTO;
+import com.parking.parking_management_sys.dto.BulkTransitionResultDTO;
+import com.parking.parking_management_sys.dto.BulkTransitionResultDTO.ItemOutcome;
+import com.parking.parking_management_sys.dto.BulkTransitionResultDTO.Outcome;
 import com.parking.parking_management_sys.dto.ReservationDTO;
+import com.parking.parking_management_sys.dto.ReservationSearchCriteria;
+import com.parking.parking_management_sys.dto.ReservationSummaryDTO;
+import com.parking.parking_management_sys.dto.ReservationStatusView;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
 import com.parking.parking_management_sys.exceptions.InvalidReservationException;
+import com.parking.parking_management_sys.services.DriverSummaryService.ReservationKey;
+import com.parking.parking_management_sys.util.KeysetCursor;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ReservationService {
@@ -33,14 +52,31 @@ public class ReservationService {
     @Autowired
     private DriverRepository driverRepository;
     
-    // Find all reservations
-    public List<Reservation> findAll() {
-        return reservationRepository.findAll();
+    @Autowired
+    private DriverSummaryService driverSummaryService;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Value("${reservation.bulk.chunk-size:500}")
+    private int bulkChunkSize;
+    
+    // Statuses a reservation can still be cancelled or completed from
+    private static final Set<ReservationStatus> OPEN_STATUSES =
+        EnumSet.of(ReservationStatus.PENDING, ReservationStatus.CONFIRMED, ReservationStatus.IN_PROGRESS);
+    
+    // Find one page of reservations in id order
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReservationSummaryDTO> findAll(String cursor, int limit) {
+        return CursorPageDTO.of(
+            reservationRepository.findSummariesAfter(KeysetCursor.decode(cursor), KeysetCursor.fetchLimit(limit)),
+            limit, ReservationSummaryDTO::getId);
     }
     
     // Find reservation by ID
+    @Transactional(readOnly = true)
     public Optional<Reservation> findById(Long id) {
-        return reservationRepository.findById(id);
+        return reservationRepository.findDetailedById(id);
     }
     
     // Create new reservation
@@ -53,7 +89,7 @@ public class ReservationService {
         ParkingSpot parkingSpot = parkingSpotRepository.findById(reservationDTO.getSpotId())
             .orElseThrow(() -> new ResourceNotFoundException("ParkingSpot not found with id: " + reservationDTO.getSpotId()));
         
-        Driver driver = driverRepository.findById(reservationDTO.getDriverId())
+        Driver driver = driverRepository.findByDriverIdAndDeletedAtIsNull(reservationDTO.getDriverId())
             .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + reservationDTO.getDriverId()));
         
         // Check if parking spot is available for the requested time
@@ -69,15 +105,20 @@ public class ReservationService {
         reservation.setSpot(parkingSpot);
         reservation.setDriverId(driver);
         
-        return reservationRepository.save(reservation);
+        Reservation savedReservation = reservationRepository.save(reservation);
+        driverSummaryService.recordReservationChange(null, savedReservation);
+        return savedReservation;
     }
     
     // Update reservation
     @Transactional
     public Reservation update(Long id, ReservationDTO reservationDTO) {
+        lockForUpdate(id);
         Reservation existingReservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
         
+        ReservationKey before = ReservationKey.of(existingReservation);
+        
         // Validate reservation dates
         validateReservationDates(reservationDTO.getStartTime(), reservationDTO.getEndTime());
         
@@ -85,7 +126,7 @@ public class ReservationService {
         ParkingSpot parkingSpot = parkingSpotRepository.findById(reservationDTO.getSpotId())
             .orElseThrow(() -> new ResourceNotFoundException("ParkingSpot not found with id: " + reservationDTO.getSpotId()));
         
-        Driver driver = driverRepository.findById(reservationDTO.getDriverId())
+        Driver driver = driverRepository.findByDriverIdAndDeletedAtIsNull(reservationDTO.getDriverId())
             .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + reservationDTO.getDriverId()));
         
         // Check if parking spot is available for the requested time (excluding current reservation)
@@ -99,16 +140,20 @@ public class ReservationService {
         existingReservation.setSpot(parkingSpot);
         existingReservation.setDriverId(driver);
         
-        return reservationRepository.save(existingReservation);
+        Reservation updatedReservation = reservationRepository.save(existingReservation);
+        driverSummaryService.recordReservationChange(before, updatedReservation);
+        return updatedReservation;
     }
     
     // Delete reservation
     @Transactional
     public Map<String, Boolean> delete(Long id) {
+        lockForUpdate(id);
         Reservation reservation = reservationRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
         
         reservationRepository.delete(reservation);
+        driverSummaryService.recordReservationChange(ReservationKey.of(reservation), null);
         
         Map<String, Boolean> response = new HashMap<>();
         response.put("deleted", Boolean.TRUE);
@@ -116,35 +161,56 @@ public class ReservationService {
     }
     
     // Find reservations by date range
-    public List<Reservation> findByDateRange(Date startDate, Date endDate) {
-        return reservationRepository.findByStartTimeBetween(startDate, endDate);
+    @Transactional(readOnly = true)
+    public List<ReservationSummaryDTO> findByDateRange(Date startDate, Date endDate) {
+        return reservationRepository.findSummariesByStartTimeBetween(startDate, endDate);
     }
     
     // Find reservations by driver ID
-    public List<Reservation> findByDriverId(Long driverId) {
-        Driver driver = driverRepository.findById(driverId)
-            .orElseThrow(() -> new ResourceNotFoundException("Driver not found with id: " + driverId));
+    @Transactional(readOnly = true)
+    public List<ReservationSummaryDTO> findByDriverId(Long driverId) {
+        if (!driverRepository.existsById(driverId)) {
+            throw new ResourceNotFoundException("Driver not found with id: " + driverId);
+        }
         
-        return reservationRepository.findByDriverId(driver);
+        return reservationRepository.findSummariesByDriverId(driverId);
     }
     
     // Find reservations by parking spot ID
-    public List<Reservation> findByParkingSpotId(Long spotId) {
-        ParkingSpot parkingSpot = parkingSpotRepository.findById(spotId)
-            .orElseThrow(() -> new ResourceNotFoundException("ParkingSpot not found with id: " + spotId));
+    @Transactional(readOnly = true)
+    public List<ReservationSummaryDTO> findByParkingSpotId(Long spotId) {
+        if (!parkingSpotRepository.existsById(spotId)) {
+            throw new ResourceNotFoundException("ParkingSpot not found with id: " + spotId);
+        }
         
-        return reservationRepository.findBySpot(parkingSpot);
+        return reservationRepository.findSummariesBySpotId(spotId);
+    }
+    
+    // Search reservations by any combination of plate, driver name, spot, status and start time range,
+    // one keyset page at a time, latest start first
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ReservationSummaryDTO> search(ReservationSearchCriteria criteria, String cursor, int limit) {
+        if (criteria.getFrom() != null && criteria.getTo() != null && criteria.getFrom().after(criteria.getTo())) {
+            throw new InvalidReservationException("Start of the search range cannot be after its end");
+        }
+        List<ReservationSummaryDTO> rows = reservationRepository.search(
+                criteria, KeysetCursor.decodePosition(cursor), KeysetCursor.fetchLimit(limit));
+        return CursorPageDTO.withCursor(rows, limit,
+                row -> KeysetCursor.encode(new KeysetCursor.Position(row.getStartTime().getTime(), row.getId())),
+                Function.identity());
     }
     
     // Find reservations by status
-    public List<Reservation> findByStatus(String status) {
-        return reservationRepository.findByStatus(status);
+    @Transactional(readOnly = true)
+    public List<ReservationSummaryDTO> findByStatus(ReservationStatus status) {
+        return reservationRepository.findSummariesByStatus(status);
     }
     
     // Cancel reservation
     @Transactional
     public Reservation cancelReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        lockForUpdate(id);
+        Reservation reservation = reservationRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
         
         // Check if reservation can be canceled
@@ -152,14 +218,18 @@ public class ReservationService {
             throw new InvalidReservationException("Cannot cancel a completed reservation");
         }
         
+        ReservationKey before = ReservationKey.of(reservation);
         reservation.setStatus(ReservationStatus.CANCELLED);
-        return reservationRepository.save(reservation);
+        Reservation cancelledReservation = reservationRepository.save(reservation);
+        driverSummaryService.recordReservationChange(before, cancelledReservation);
+        return cancelledReservation;
     }
     
     // Complete reservation
     @Transactional
     public Reservation completeReservation(Long id) {
-        Reservation reservation = reservationRepository.findById(id)
+        lockForUpdate(id);
+        Reservation reservation = reservationRepository.findDetailedById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
         
         // Check if reservation can be completed
@@ -167,8 +237,114 @@ public class ReservationService {
             throw new InvalidReservationException("Cannot complete a cancelled reservation");
         }
         
+        ReservationKey before = ReservationKey.of(reservation);
         reservation.setStatus(ReservationStatus.COMPLETED);
-        return reservationRepository.save(reservation);
+        Reservation completedReservation = reservationRepository.save(reservation);
+        driverSummaryService.recordReservationChange(before, completedReservation);
+        return completedReservation;
+    }
+    
+    // Cancel many reservations with set-based updates, one transaction per chunk
+    public BulkTransitionResultDTO bulkCancel(BulkReservationTransitionDTO request) {
+        return bulkTransition(request, ReservationStatus.CANCELLED);
+    }
+    
+    // Complete many reservations with set-based updates, one transaction per chunk
+    public BulkTransitionResultDTO bulkComplete(BulkReservationTransitionDTO request) {
+        return bulkTransition(request, ReservationStatus.COMPLETED);
+    }
+    
+    private BulkTransitionResultDTO bulkTransition(BulkReservationTransitionDTO request, ReservationStatus target) {
+        BulkTransitionResultDTO result = BulkTransitionResultDTO.builder().targetStatus(target).build();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            List<Long> ids = request.getIds().stream().distinct().toList();
+            for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+                transaction.executeWithoutResult(status -> {
+                    Map<Long, ReservationStatusView> current = reservationRepository.findStatusByIdIn(chunk).stream()
+                        .collect(Collectors.toMap(ReservationStatusView::getId, view -> view));
+                    transitionChunk(chunk, current, target, result);
+                });
+            }
+            return result;
+        }
+        
+        if (request.getSpotId() == null && request.getStartFrom() == null
+                && request.getStartTo() == null && request.getStatus() == null) {
+            throw new InvalidReservationException("Either reservation ids or at least one filter must be provided");
+        }
+        
+        // Walk the filter in id order so rows leaving the filter after their update never shift later chunks
+        long afterId = 0L;
+        while (true) {
+            final long lastId = afterId;
+            List<ReservationStatusView> chunk = transaction.execute(status -> {
+                List<ReservationStatusView> views = reservationRepository.findStatusChunkByFilter(
+                    lastId, request.getSpotId(), request.getStartFrom(), request.getStartTo(), request.getStatus(),
+                    PageRequest.of(0, bulkChunkSize));
+                Map<Long, ReservationStatusView> current = new HashMap<>();
+                views.forEach(view -> current.put(view.getId(), view));
+                transitionChunk(views.stream().map(ReservationStatusView::getId).toList(), current, target, result);
+                return views;
+            });
+            if (chunk == null || chunk.size() < bulkChunkSize) {
+                return result;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+        }
+    }
+    
+    // Serialize changes to one reservation: the driver summary delta is computed from the row as read,
+    // so two concurrent changes must not both start from the same old state
+    private void lockForUpdate(Long id) {
+        reservationRepository.lockById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Reservation not found with id: " + id));
+    }
+    
+    // Classify a chunk against its current statuses and move the eligible rows with one guarded UPDATE per status
+    private void transitionChunk(List<Long> ids, Map<Long, ReservationStatusView> current,
+                                 ReservationStatus target, BulkTransitionResultDTO result) {
+        List<Long> eligible = new ArrayList<>();
+        for (Long id : ids) {
+            ReservationStatus status = current.containsKey(id) ? current.get(id).getStatus() : null;
+            if (status == null) {
+                result.add(new ItemOutcome(id, Outcome.NOT_FOUND, null, "Reservation not found with id: " + id));
+            } else if (!OPEN_STATUSES.contains(status)) {
+                result.add(new ItemOutcome(id, Outcome.SKIPPED, status, "Reservation is already " + status));
+            } else {
+                eligible.add(id);
+            }
+        }
+        if (eligible.isEmpty()) {
+            return;
+        }
+        
+        // Each UPDATE only matches rows still in the status they were read with, so the summary
+        // delta below is taken from the right bucket; rows changed meanwhile are left alone.
+        // The driver comes from the UPDATE itself, as the row may have moved to another driver since the read
+        Map<ReservationStatus, List<Long>> byStatus = eligible.stream()
+            .collect(Collectors.groupingBy(id -> current.get(id).getStatus()));
+        Map<Long, Long> updatedDrivers = new HashMap<>();
+        byStatus.forEach((before, group) -> {
+            for (Object[] row : reservationRepository.transitionStatusReturningRows(group, before.name(), target.name())) {
+                updatedDrivers.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+        });
+        
+        List<ReservationKey> moved = new ArrayList<>(updatedDrivers.size());
+        for (Long id : eligible) {
+            ReservationStatus before = current.get(id).getStatus();
+            Long driverId = updatedDrivers.get(id);
+            if (driverId == null) {
+                result.add(new ItemOutcome(id, Outcome.SKIPPED, before, "Reservation status changed concurrently"));
+            } else {
+                result.add(new ItemOutcome(id, Outcome.UPDATED, before, null));
+                moved.add(new ReservationKey(driverId, before));
+            }
+        }
+        driverSummaryService.recordReservationStatusChange(moved, target);
     }
     
     // Check if parking spot is available for the given time period
@@ -206,7 +382,7 @@ public class ReservationService {
     }
     
     // Validate reservation dates
-    private void validateReservationDates(Date startTime, Date endTime) {
+    void validateReservationDates(Date startTime, Date endTime) {
         if (startTime == null || endTime == null) {
             throw new InvalidReservationException("Start time and end time cannot be null");
         }
@@ -0,0 +1,122 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.parking.parking_management_sys.dto.CacheStatsDTO;
+import com.parking.parking_management_sys.dto.UserDTO;
+import com.parking.parking_management_sys.entities.User;
+import com.parking.parking_management_sys.entities.User.UserRole;
+import com.parking.parking_management_sys.repository.UserRepository;
+import com.parking.parking_management_sys.util.AfterCommit;
+import com.parking.parking_management_sys.util.BoundedCache;
+
+/**
+ * Near-cache from username to a user snapshot for profile lookups.
+ * Authentication does not use it: CustomUserDetailsService reads the database on every login,
+ * so a changed password or a deleted user takes effect at once on every instance. The profile
+ * only shows the id, name and role, where the TTL bounding staleness from writes made by other
+ * instances is acceptable. UserService invalidates a username after every committed change to it.
+ */
+@Service
+public class UserCacheService {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<String, Optional<UserSnapshot>> cache;
+    private final long ttlMillis;
+    private final long negativeTtlMillis;
+    private final LongAdder negativeHits = new LongAdder();
+
+    // Bumped by every invalidation; a load that started before one must not be cached
+    private long generation;
+
+    /**
+     * The cached fields of a user; the password hash is never cached
+     */
+    public record UserSnapshot(Long userId, String username, UserRole role) {
+
+        static UserSnapshot of(User user) {
+            return new UserSnapshot(user.getUserId(), user.getUsername(), user.getRole());
+        }
+
+        public UserDTO toDTO() {
+            UserDTO dto = new UserDTO();
+            dto.setId(userId);
+            dto.setUsername(username);
+            dto.setRole(role);
+            return dto;
+        }
+    }
+
+    public UserCacheService(
+            UserRepository userRepository,
+            @Value("${user.cache.capacity:1000}") int capacity,
+            @Value("${user.cache.ttl-seconds:300}") long ttlSeconds,
+            @Value("${user.cache.negative-ttl-seconds:30}") long negativeTtlSeconds) {
+        this.userRepository = userRepository;
+        this.cache = new BoundedCache<>(capacity);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.negativeTtlMillis = TimeUnit.SECONDS.toMillis(negativeTtlSeconds);
+    }
+
+    /**
+     * The user with the given username, from the cache when possible
+     */
+    public Optional<UserSnapshot> find(String username) {
+        Optional<UserSnapshot> cached = cache.get(username);
+        if (cached != null) {
+            if (cached.isEmpty()) {
+                negativeHits.increment();
+            }
+            return cached;
+        }
+        long startedAt = currentGeneration();
+        Optional<UserSnapshot> loaded = userRepository.findByUsername(username).map(UserSnapshot::of);
+        synchronized (this) {
+            if (generation == startedAt) {
+                cache.put(username, loaded, loaded.isPresent() ? ttlMillis : negativeTtlMillis);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Forget the given usernames once the surrounding transaction commits
+     */
+    public void invalidate(String... usernames) {
+        invalidate(List.of(usernames));
+    }
+
+    public void invalidate(Collection<String> usernames) {
+        AfterCommit.run(() -> {
+            synchronized (this) {
+                generation++;
+                usernames.forEach(cache::invalidate);
+            }
+        });
+    }
+
+    public CacheStatsDTO stats() {
+        BoundedCache.Stats stats = cache.stats();
+        return CacheStatsDTO.builder()
+                .capacity(stats.capacity())
+                .size(stats.size())
+                .hits(stats.hits())
+                .misses(stats.misses())
+                .hitRatio(stats.hitRatio())
+                .negativeHits(negativeHits.sum())
+                .evictions(stats.evictions())
+                .rejections(stats.rejections())
+                .build();
+    }
+
+    private synchronized long currentGeneration() {
+        return generation;
+    }
+}
@@ -2,18 +2,19 @@ package com.parking.parking_management_sys.services;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.parking.parking_management_sys.dto.CursorPageDTO;
 import com.parking.parking_management_sys.dto.UserDTO;
 import com.parking.parking_management_sys.entities.User;
 import com.parking.parking_management_sys.exceptions.ResourceNotFoundException;
 import com.parking.parking_management_sys.exceptions.UserAlreadyExistsException;
 import com.parking.parking_management_sys.repository.UserRepository;
+import com.parking.parking_management_sys.util.KeysetCursor;
 
 @Service
 public class UserService {
@@ -24,11 +25,14 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
-    // Find all users
-    public List<UserDTO> findAll() {
-        return userRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Autowired
+    private UserCacheService userCacheService;
+
+    // Find one page of users in id order
+    public CursorPageDTO<UserDTO> findAll(String cursor, int limit) {
+        List<User> users = userRepository.findByUserIdGreaterThanOrderByUserIdAsc(
+                KeysetCursor.decode(cursor), KeysetCursor.fetchLimit(limit));
+        return CursorPageDTO.of(users, limit, User::getUserId, this::convertToDTO);
     }
 
     // Find user by ID
@@ -37,10 +41,10 @@ public class UserService {
                 .map(this::convertToDTO);
     }
 
-    // Find user by username
+    // Find user by username, from the user cache when possible
     public Optional<UserDTO> findByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .map(this::convertToDTO);
+        return userCacheService.find(username)
+                .map(UserCacheService.UserSnapshot::toDTO);
     }
 
     // Create new user
@@ -58,6 +62,8 @@ public class UserService {
         user.setRole(userDTO.getRole());
 
         User savedUser = userRepository.save(user);
+        // Drops a cached "unknown username"
+        userCacheService.invalidate(savedUser.getUsername());
         return convertToDTO(savedUser);
     }
 
@@ -73,6 +79,7 @@ public class UserService {
             throw new UserAlreadyExistsException("Username already exists: " + userDTO.getUsername());
         }
 
+        String previousUsername = existingUser.getUsername();
         existingUser.setUsername(userDTO.getUsername());
         
         // Only update password if it's provided
@@ -83,6 +90,7 @@ public class UserService {
         existingUser.setRole(userDTO.getRole());
 
         User updatedUser = userRepository.save(existingUser);
+        userCacheService.invalidate(previousUsername, updatedUser.getUsername());
         return convertToDTO(updatedUser);
     }
 
@@ -93,6 +101,7 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + id));
         
         userRepository.delete(user);
+        userCacheService.invalidate(user.getUsername());
     }
 
     // Convert User entity to UserDTO (removing the password)
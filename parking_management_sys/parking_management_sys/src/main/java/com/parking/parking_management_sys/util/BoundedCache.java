@@ -0,0 +1,185 @@
+package com.parking.parking_management_sys.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size-bounded in-process cache with per-entry expiry and TinyLFU admission.
+ * Entries are kept in LRU order; when the cache is full a new key only displaces the least
+ * recently used entry if a count-min sketch of recent accesses says the new key is requested
+ * more often, so a burst of one-off lookups cannot flush the frequently used entries.
+ * The sketch counts every access, hit or miss, and halves its counters periodically so old
+ * popularity fades.
+ */
+public final class BoundedCache<K, V> {
+
+    private final int capacity;
+    private final LinkedHashMap<K, Entry<V>> entries;
+    private final FrequencySketch sketch;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public record Stats(long capacity, long size, long hits, long misses, long evictions, long rejections) {
+
+        public double hitRatio() {
+            long requests = hits + misses;
+            return requests == 0 ? 0.0 : (double) hits / requests;
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+    }
+
+    public BoundedCache(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(this.capacity);
+    }
+
+    /**
+     * The cached value, or null when absent or expired
+     */
+    public V get(K key) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            sketch.increment(key.hashCode());
+            Entry<V> entry = entries.get(key);
+            if (entry != null && entry.expiresAtNanos() - now > 0) {
+                hits.increment();
+                return entry.value();
+            }
+            if (entry != null) {
+                entries.remove(key);
+            }
+            misses.increment();
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Cache a value for the given time, subject to admission when the cache is full
+     */
+    public void put(K key, V value, long ttlMillis) {
+        long expiresAt = System.nanoTime() + ttlMillis * 1_000_000L;
+        lock.lock();
+        try {
+            if (entries.containsKey(key) || entries.size() < capacity || admit(key)) {
+                entries.put(key, new Entry<>(value, expiresAt));
+            } else {
+                rejections.increment();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidate(K key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Stats stats() {
+        lock.lock();
+        try {
+            return new Stats(capacity, entries.size(), hits.sum(), misses.sum(), evictions.sum(), rejections.sum());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Evict the LRU entry if the candidate is more popular; expired entries are dropped first for free
+    private boolean admit(K candidate) {
+        long now = System.nanoTime();
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        Map.Entry<K, Entry<V>> victim = eldest.next();
+        if (victim.getValue().expiresAtNanos() - now <= 0
+                || sketch.frequency(candidate.hashCode()) > sketch.frequency(victim.getKey().hashCode())) {
+            eldest.remove();
+            evictions.increment();
+            return true;
+        }
+        return false;
+    }
+
+    // Count-min sketch of 4-bit counters, four rows packed into one long per slot
+    private static final class FrequencySketch {
+        private static final long[] SEEDS = { 0x97cb3127L, 0xb1a4f2c3L, 0xc2b2ae35L, 0x85ebca6bL };
+
+        private final long[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(capacity, 16) * 2 - 1) << 1;
+            this.table = new long[width];
+            this.mask = width - 1;
+            this.sampleSize = 10 * capacity;
+        }
+
+        void increment(int hash) {
+            boolean added = false;
+            for (int row = 0; row < 4; row++) {
+                int slot = slot(hash, row);
+                int shift = row * 16 + counterOffset(hash, row);
+                if (((table[slot] >>> shift) & 0xF) < 15) {
+                    table[slot] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        int frequency(int hash) {
+            int min = 15;
+            for (int row = 0; row < 4; row++) {
+                int shift = row * 16 + counterOffset(hash, row);
+                min = Math.min(min, (int) ((table[slot(hash, row)] >>> shift) & 0xF));
+            }
+            return min;
+        }
+
+        private int slot(int hash, int row) {
+            long h = (hash + SEEDS[row]) * SEEDS[row];
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        // Each row owns 16 bits of a slot: four 4-bit counters, picked by the hash
+        private static int counterOffset(int hash, int row) {
+            return ((hash >>> (row * 2)) & 3) << 2;
+        }
+
+        // Halve every counter so the sketch follows changes in popularity
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & 0x7777777777777777L;
+            }
+            additions /= 2;
+        }
+    }
+}
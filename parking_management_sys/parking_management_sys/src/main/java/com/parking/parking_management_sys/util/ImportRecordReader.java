@@ -0,0 +1,134 @@
+package com.parking.parking_management_sys.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Streams an upload one record at a time so imports never hold the whole file in memory.
+ * CSV input must start with a header row; NDJSON input has one JSON object per line.
+ * Field names are matched case-insensitively.
+ */
+public class ImportRecordReader implements Closeable {
+
+    /**
+     * One data row; {@code error} is set instead of {@code fields} when the line cannot be parsed
+     */
+    public record Record(int row, Map<String, String> fields, String error) {
+
+        public String get(String name) {
+            return fields.get(name.toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final BufferedReader reader;
+    private final RecordFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private int row;
+
+    public ImportRecordReader(InputStream input, RecordFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Read the next non-blank record
+     *
+     * @return the record, or null at end of input
+     */
+    public Record next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == RecordFormat.CSV && header == null) {
+                header = splitCsv(line).stream().map(h -> h.trim().toLowerCase(Locale.ROOT)).toList();
+                continue;
+            }
+            row++;
+            try {
+                return new Record(row, format == RecordFormat.CSV ? csvFields(line) : jsonFields(line), null);
+            } catch (IOException | IllegalArgumentException e) {
+                return new Record(row, Map.of(), "Malformed row: " + e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private Map<String, String> csvFields(String line) {
+        List<String> values = splitCsv(line);
+        if (values.size() != header.size()) {
+            throw new IllegalArgumentException("expected " + header.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = values.get(i).trim();
+            fields.put(header.get(i), value.isEmpty() ? null : value);
+        }
+        return fields;
+    }
+
+    private Map<String, String> jsonFields(String line) throws IOException {
+        JsonNode node = objectMapper.readTree(line);
+        if (node == null || !node.isObject()) {
+            throw new IllegalArgumentException("expected a JSON object");
+        }
+        Map<String, String> fields = new HashMap<>();
+        Iterator<Map.Entry<String, JsonNode>> it = node.fields();
+        while (it.hasNext()) {
+            Map.Entry<String, JsonNode> field = it.next();
+            JsonNode value = field.getValue();
+            fields.put(field.getKey().toLowerCase(Locale.ROOT), value.isNull() ? null : value.asText());
+        }
+        return fields;
+    }
+
+    // Minimal RFC 4180 split: quoted fields may contain commas and doubled quotes, not line breaks
+    private static List<String> splitCsv(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
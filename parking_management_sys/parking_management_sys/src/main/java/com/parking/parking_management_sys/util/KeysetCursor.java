@@ -0,0 +1,90 @@
+package com.parking.parking_management_sys.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.data.domain.Limit;
+
+import com.parking.parking_management_sys.exceptions.InvalidCursorException;
+
+/**
+ * Opaque cursor for keyset pagination over an ascending id.
+ * The cursor carries the last id of the previous page, so the next page is read with
+ * "id > :afterId ORDER BY id LIMIT n" and costs one index seek however deep it is.
+ * Lists ordered by another column carry a {@link Position}: that column's value plus the id
+ * as tie-breaker.
+ */
+public final class KeysetCursor {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String PREFIX = "k1:";
+    private static final String POSITION_PREFIX = "k2:";
+
+    /**
+     * The last row of the previous page in a list ordered by (sortKey, id)
+     */
+    public record Position(long sortKey, long id) {
+    }
+
+    private KeysetCursor() {
+    }
+
+    public static String encode(long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static String encode(Position position) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((POSITION_PREFIX + position.sortKey() + ":" + position.id()).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * The position to continue after, or null for an absent cursor
+     */
+    public static Position decodePosition(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            int separator = value.indexOf(':', POSITION_PREFIX.length());
+            if (!value.startsWith(POSITION_PREFIX) || separator < 0) {
+                throw new InvalidCursorException("Invalid pagination cursor");
+            }
+            return new Position(Long.parseLong(value.substring(POSITION_PREFIX.length(), separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    /**
+     * The id to continue after; an absent cursor starts from the beginning
+     */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new InvalidCursorException("Invalid pagination cursor");
+            }
+            return Long.parseLong(value.substring(PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid pagination cursor");
+        }
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_LIMIT);
+    }
+
+    // One row past the page tells whether another page follows without a count query
+    public static Limit fetchLimit(int limit) {
+        return Limit.of(clampLimit(limit) + 1);
+    }
+}
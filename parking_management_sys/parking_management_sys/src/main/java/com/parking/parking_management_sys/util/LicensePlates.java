@@ -0,0 +1,27 @@
+package com.parking.parking_management_sys.util;
+
+import java.util.Locale;
+
+/**
+ * License plate normalization shared by lookups and indexes
+ */
+public final class LicensePlates {
+
+    private LicensePlates() {
+    }
+
+    // Separator-insensitive key: "ab-12 3" and "AB123" both become "AB123"
+    public static String searchKey(String plate) {
+        if (plate == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(plate.length());
+        for (int i = 0; i < plate.length(); i++) {
+            char c = plate.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                key.append(c);
+            }
+        }
+        return key.toString().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,22 @@
+package com.parking.parking_management_sys.util;
+
+/**
+ * Builds LIKE patterns from user input; the patterns use backslash as the escape character
+ */
+public final class LikePatterns {
+
+    private LikePatterns() {
+    }
+
+    public static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    public static String prefix(String value) {
+        return escape(value) + "%";
+    }
+
+    public static String contains(String value) {
+        return "%" + escape(value) + "%";
+    }
+}
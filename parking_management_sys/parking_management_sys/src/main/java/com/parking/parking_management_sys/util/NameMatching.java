@@ -0,0 +1,127 @@
+package com.parking.parking_management_sys.util;
+
+import java.util.Locale;
+
+/**
+ * Person name normalization, phonetic hashing and similarity for duplicate detection
+ */
+public final class NameMatching {
+
+    // Soundex digit per letter A..Z; '0' for vowels and h/w/y, which are not coded
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private NameMatching() {
+    }
+
+    // Lower-case letters and single spaces only: "  O'Brien,  Anne " becomes "obrien anne"
+    public static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(name.length());
+        boolean space = false;
+        for (int i = 0; i < name.length(); i++) {
+            char c = Character.toLowerCase(name.charAt(i));
+            if (Character.isLetter(c)) {
+                if (space && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                space = false;
+            } else if (Character.isWhitespace(c) || c == '-' || c == ',') {
+                space = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Soundex codes of the first and last word of a normalized name, so spelling variants
+     * of the same name ("Jon Smyth", "John Smith") share a key; empty for an empty name
+     */
+    public static String phoneticKey(String normalizedName) {
+        if (normalizedName.isEmpty()) {
+            return "";
+        }
+        int firstEnd = normalizedName.indexOf(' ');
+        if (firstEnd < 0) {
+            return soundex(normalizedName);
+        }
+        return soundex(normalizedName.substring(0, firstEnd)) + soundex(normalizedName.substring(normalizedName.lastIndexOf(' ') + 1));
+    }
+
+    // American Soundex: first letter plus three digits
+    public static String soundex(String word) {
+        String upper = word.toUpperCase(Locale.ROOT);
+        StringBuilder code = new StringBuilder(4);
+        char previous = 0;
+        for (int i = 0; i < upper.length() && code.length() < 4; i++) {
+            char c = upper.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                continue;
+            }
+            char digit = SOUNDEX_CODES.charAt(c - 'A');
+            if (code.length() == 0) {
+                code.append(c);
+            } else if (digit != '0' && digit != previous) {
+                code.append(digit);
+            }
+            // H and W do not separate letters with the same code; vowels do
+            if (c != 'H' && c != 'W') {
+                previous = digit;
+            }
+        }
+        while (code.length() > 0 && code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    // Jaro-Winkler similarity in [0, 1], favouring strings with a common prefix
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return a.isEmpty() ? 0.0 : 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+        int window = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] matchedA = new boolean[a.length()];
+        boolean[] matchedB = new boolean[b.length()];
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - window);
+            int to = Math.min(b.length() - 1, i + window);
+            for (int j = from; j <= to; j++) {
+                if (!matchedB[j] && a.charAt(i) == b.charAt(j)) {
+                    matchedA[i] = true;
+                    matchedB[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+        int transpositions = 0;
+        for (int i = 0, j = 0; i < a.length(); i++) {
+            if (matchedA[i]) {
+                while (!matchedB[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+        int prefix = 0;
+        while (prefix < Math.min(4, Math.min(a.length(), b.length())) && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * 0.1 * (1.0 - jaro);
+    }
+}
@@ -0,0 +1,32 @@
+package com.parking.parking_management_sys.util;
+
+/**
+ * Phone number normalization for matching
+ */
+public final class PhoneNumbers {
+
+    // Shorter digit runs are extensions or typos, too unspecific to match on
+    private static final int MIN_DIGITS = 7;
+    private static final int SIGNIFICANT_DIGITS = 10;
+
+    private PhoneNumbers() {
+    }
+
+    // Last ten digits, so "+1 (555) 010-2030" and "555.010.2030" match; empty when too short
+    public static String matchKey(String phone) {
+        if (phone == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phone.length());
+        for (int i = 0; i < phone.length(); i++) {
+            char c = phone.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() < MIN_DIGITS) {
+            return "";
+        }
+        return digits.length() > SIGNIFICANT_DIGITS ? digits.substring(digits.length() - SIGNIFICANT_DIGITS) : digits.toString();
+    }
+}
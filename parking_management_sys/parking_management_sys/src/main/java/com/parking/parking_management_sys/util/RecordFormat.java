@@ -0,0 +1,18 @@
+package com.parking.parking_management_sys.util;
+
+import java.util.Locale;
+
+/**
+ * Line-oriented formats accepted by bulk imports and produced by exports
+ */
+public enum RecordFormat {
+    CSV,
+    NDJSON;
+
+    public static RecordFormat fromContentType(String contentType) {
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).contains("ndjson")) {
+            return NDJSON;
+        }
+        return CSV;
+    }
+}
@@ -0,0 +1,89 @@
+package com.parking.parking_management_sys.security;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Multi-threaded throughput of {@link AuthTokenFilter} against {@link TokenProvider}, with a
+ * mix of valid and unknown tokens and logins issuing new tokens in the background. Not a unit
+ * test; run with
+ * {@code java -cp target/classes:target/test-classes:<deps> ...AuthTokenFilterBenchmark [tokens] [seconds] [sliding] [opaque|signed] [cached]}.
+ * With {@code cached} the token store is wrapped in the per-node cache used in front of a shared store.
+ */
+public class AuthTokenFilterBenchmark {
+
+    private static final int[] THREAD_COUNTS = { 1, 4, 16, 64 };
+
+    public static void main(String[] args) throws Exception {
+        int tokenCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        boolean sliding = args.length > 2 && Boolean.parseBoolean(args[2]);
+        String mode = args.length > 3 ? args[3] : "opaque";
+        boolean cached = args.length > 4 && Boolean.parseBoolean(args[4]);
+
+        TokenStore tokenStore = new InMemoryTokenStore(TimeUnit.MINUTES.toMillis(30), 1000);
+        if (cached) {
+            tokenStore = new CachingTokenStore(tokenStore, tokenCount, 5000);
+        }
+        TokenProvider tokenProvider = new TokenProvider(tokenStore, 30, sliding, 1000, mode, "");
+        String[] tokens = new String[tokenCount];
+        for (int i = 0; i < tokenCount; i++) {
+            tokens[i] = tokenProvider.generateToken("user" + i, i % 10 == 0 ? "ADMIN" : "STAFF");
+        }
+        AuthTokenFilter filter = new AuthTokenFilter(tokenProvider);
+
+        for (int threads : THREAD_COUNTS) {
+            run(filter, tokenProvider, tokens, threads, seconds);
+        }
+    }
+
+    private static void run(AuthTokenFilter filter, TokenProvider tokenProvider, String[] tokens,
+                            int threads, int seconds) throws InterruptedException {
+        LongAdder requests = new LongAdder();
+        LongAdder authenticated = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    // One request in twenty carries a token the store has never seen
+                    String token = random.nextInt(20) == 0 ? "unknown-" + random.nextInt()
+                            : tokens[random.nextInt(tokens.length)];
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/drivers");
+                    request.addHeader("Authorization", "Bearer " + token);
+                    try {
+                        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                    if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                        authenticated.increment();
+                    }
+                    SecurityContextHolder.clearContext();
+                    requests.increment();
+                    // Logins keep writing to the store while it is being read
+                    if (random.nextInt(1000) == 0) {
+                        tokenProvider.generateToken("login", "STAFF");
+                    }
+                }
+                done.countDown();
+            });
+            worker.start();
+        }
+        done.await();
+
+        double perSecond = requests.sum() / (double) seconds;
+        System.out.printf("%3d threads  %12d requests  %12.0f requests/s  %5.1f%% authenticated  %d tokens%n",
+                threads, requests.sum(), perSecond, 100.0 * authenticated.sum() / requests.sum(),
+                tokenProvider.getActiveTokenCount());
+    }
+}
@@ -0,0 +1,135 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.parking.parking_management_sys.dto.AuthLoadStatsDTO;
+import com.parking.parking_management_sys.exceptions.PasswordHashingBusyException;
+
+class BoundedPasswordEncoderTests {
+
+    private final BlockingEncoder delegate = new BlockingEncoder();
+    private BoundedPasswordEncoder encoder;
+
+    // "Hashes" by prefixing, and holds every hash until released
+    private static final class BlockingEncoder implements PasswordEncoder {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted", e);
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+
+    @AfterEach
+    void shutdown() {
+        delegate.release.countDown();
+        encoder.shutdown();
+    }
+
+    private AuthLoadStatsDTO stats() {
+        AuthLoadStatsDTO stats = new AuthLoadStatsDTO();
+        encoder.fillStats(stats);
+        return stats;
+    }
+
+    private void awaitQueueDepth(int depth) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (stats().getQueueDepth() != depth) {
+            assertThat(System.nanoTime()).as("queue depth %d reached", depth).isLessThan(deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    @Test
+    void hashesThroughThePoolAndCountsThem() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 5_000);
+        delegate.release.countDown();
+
+        assertThat(encoder.encode("secret")).isEqualTo("hashed:secret");
+        assertThat(encoder.matches("secret", "hashed:secret")).isTrue();
+        assertThat(encoder.matches("wrong", "hashed:secret")).isFalse();
+
+        AuthLoadStatsDTO stats = stats();
+        assertThat(stats.getHashThreads()).isEqualTo(1);
+        assertThat(stats.getQueueCapacity()).isEqualTo(1);
+        assertThat(stats.getCompletedHashes()).isEqualTo(3);
+        assertThat(stats.getRejectedHashes()).isZero();
+        assertThat(stats.getTimedOutHashes()).isZero();
+        assertThat(stats.getMaxHashMillis()).isGreaterThanOrEqualTo(stats.getAverageHashMillis());
+    }
+
+    @Test
+    void refusesAtOnceWhenThePoolAndQueueAreFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 10_000);
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        assertThat(delegate.started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        awaitQueueDepth(1);
+
+        assertThatThrownBy(() -> encoder.matches("c", "hashed:c"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+        AuthLoadStatsDTO busy = stats();
+        assertThat(busy.getActiveHashes()).isEqualTo(1);
+        assertThat(busy.getQueueDepth()).isEqualTo(1);
+        assertThat(busy.getRejectedHashes()).isEqualTo(1);
+
+        delegate.release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hashed:b");
+        assertThat(stats().getCompletedHashes()).isEqualTo(2);
+    }
+
+    @Test
+    void givesUpOnAHashThatWaitsPastTheTimeout() {
+        encoder = new BoundedPasswordEncoder(delegate, 1, 1, 100);
+
+        assertThatThrownBy(() -> encoder.encode("slow"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        AuthLoadStatsDTO stats = stats();
+        assertThat(stats.getTimedOutHashes()).isEqualTo(1);
+        assertThat(stats.getRejectedHashes()).isZero();
+    }
+
+    @Test
+    void passesOnFailuresOfTheEncoderItself() {
+        encoder = new BoundedPasswordEncoder(new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("bad salt");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        }, 1, 1, 5_000);
+
+        assertThatThrownBy(() -> encoder.encode("secret"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("bad salt");
+        assertThat(stats().getCompletedHashes()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,181 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+import com.parking.parking_management_sys.security.TokenStore.StoredToken;
+
+class CachingTokenStoreTests {
+
+    private static final long CACHE_TTL = 60_000;
+    private static final TokenPrincipal PRINCIPAL = new TokenPrincipal("ann", "USER");
+
+    private final SharedStore shared = new SharedStore();
+    private final CachingTokenStore store = new CachingTokenStore(shared, 100, CACHE_TTL);
+    private final long later = System.currentTimeMillis() + 600_000;
+
+    // Stands in for the shared table; writes made directly to it are what other nodes do
+    private static final class SharedStore implements TokenStore {
+        private final ConcurrentHashMap<String, StoredToken> tokens = new ConcurrentHashMap<>();
+        private int finds;
+        private long expiredBefore;
+
+        @Override
+        public void save(String token, StoredToken stored) {
+            tokens.put(token, stored);
+        }
+
+        @Override
+        public StoredToken find(String token) {
+            finds++;
+            return tokens.get(token);
+        }
+
+        @Override
+        public void extend(String token, long expiresAtMillis) {
+            tokens.computeIfPresent(token, (key, stored) -> new StoredToken(stored.principal(), expiresAtMillis));
+        }
+
+        @Override
+        public void remove(String token) {
+            tokens.remove(token);
+        }
+
+        @Override
+        public void removeExpired(long nowMillis) {
+            expiredBefore = nowMillis;
+        }
+
+        @Override
+        public int size() {
+            return tokens.size();
+        }
+    }
+
+    @Test
+    void saveWritesThroughAndServesLaterLookupsLocally() {
+        store.save("t", new StoredToken(PRINCIPAL, later));
+
+        assertThat(shared.tokens).containsKey("t");
+        assertThat(store.find("t")).isEqualTo(new StoredToken(PRINCIPAL, later));
+        assertThat(store.find("t")).isNotNull();
+        assertThat(shared.finds).isZero();
+    }
+
+    @Test
+    void readsATokenSavedByAnotherNodeOnceAndCachesIt() {
+        shared.save("t", new StoredToken(PRINCIPAL, later));
+
+        assertThat(store.find("t").principal()).isEqualTo(PRINCIPAL);
+        assertThat(store.find("t").principal()).isEqualTo(PRINCIPAL);
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void cachesUnknownTokensAsMissing() {
+        assertThat(store.find("unknown")).isNull();
+        assertThat(store.find("unknown")).isNull();
+
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void saveReplacesACachedMissingEntry() {
+        assertThat(store.find("t")).isNull();
+
+        store.save("t", new StoredToken(PRINCIPAL, later));
+
+        assertThat(store.find("t")).isNotNull();
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void rereadsACachedTokenThatLooksExpired() {
+        long past = System.currentTimeMillis() - 1;
+        store.save("t", new StoredToken(PRINCIPAL, past));
+        // Another node extended it meanwhile
+        shared.extend("t", later);
+
+        assertThat(store.find("t").expiresAtMillis()).isEqualTo(later);
+        assertThat(shared.finds).isEqualTo(1);
+
+        assertThat(store.find("t").expiresAtMillis()).isEqualTo(later);
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void aTokenThatReallyExpiredStaysExpired() {
+        long past = System.currentTimeMillis() - 1;
+        store.save("t", new StoredToken(PRINCIPAL, past));
+
+        assertThat(store.find("t").expiresAtMillis()).isEqualTo(past);
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void extendWritesThroughAndRefreshesTheCachedEntry() {
+        store.save("t", new StoredToken(PRINCIPAL, later));
+
+        store.extend("t", later + 1_000);
+
+        assertThat(shared.tokens.get("t").expiresAtMillis()).isEqualTo(later + 1_000);
+        assertThat(store.find("t")).isEqualTo(new StoredToken(PRINCIPAL, later + 1_000));
+        assertThat(shared.finds).isZero();
+    }
+
+    @Test
+    void extendDoesNotTurnAMissingEntryIntoAToken() {
+        assertThat(store.find("t")).isNull();
+
+        store.extend("t", later);
+
+        assertThat(store.find("t")).isNull();
+        assertThat(shared.tokens).isEmpty();
+    }
+
+    @Test
+    void extendOfAnUncachedTokenLeavesTheLookupToTheSharedStore() {
+        shared.save("t", new StoredToken(PRINCIPAL, later));
+
+        store.extend("t", later + 1_000);
+
+        assertThat(store.find("t").expiresAtMillis()).isEqualTo(later + 1_000);
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void removeWritesThroughAndForgetsTheCachedEntry() {
+        store.save("t", new StoredToken(PRINCIPAL, later));
+
+        store.remove("t");
+
+        assertThat(shared.tokens).isEmpty();
+        assertThat(store.find("t")).isNull();
+        assertThat(shared.finds).isEqualTo(1);
+    }
+
+    @Test
+    void aLogoutOnAnotherNodeIsSeenOnceTheCacheEntryExpires() {
+        CachingTokenStore shortLived = new CachingTokenStore(shared, 100, 0);
+        shortLived.save("t", new StoredToken(PRINCIPAL, later));
+
+        shared.remove("t");
+
+        assertThat(shortLived.find("t")).isNull();
+    }
+
+    @Test
+    void expiryAndSizeAreLeftToTheSharedStore() {
+        store.save("a", new StoredToken(PRINCIPAL, later));
+        store.save("b", new StoredToken(PRINCIPAL, later));
+
+        store.removeExpired(1234L);
+
+        assertThat(shared.expiredBefore).isEqualTo(1234L);
+        assertThat(store.size()).isEqualTo(2);
+    }
+}
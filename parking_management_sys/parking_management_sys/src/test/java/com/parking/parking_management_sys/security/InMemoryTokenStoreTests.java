@@ -0,0 +1,119 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+import com.parking.parking_management_sys.security.TokenStore.StoredToken;
+
+class InMemoryTokenStoreTests {
+
+    private static final long TICK = 1_000;
+    // 10 ticks of lifetime give a wheel of 32 slots, one rotation every 32 seconds
+    private static final long TTL = 10_000;
+    private static final TokenPrincipal PRINCIPAL = new TokenPrincipal("ann", "USER");
+
+    // The wheel starts at the current tick, so every clock below is relative to now
+    private final long base = System.currentTimeMillis() / TICK * TICK;
+    private final InMemoryTokenStore store = new InMemoryTokenStore(TTL, TICK);
+
+    private void save(String token, long expiresAtMillis) {
+        store.save(token, new StoredToken(PRINCIPAL, expiresAtMillis));
+    }
+
+    @Test
+    void keepsTokensUntilTheirExpiryTickHasPassed() {
+        save("a", base + 5_000);
+
+        store.removeExpired(base + 3_000);
+        assertThat(store.find("a")).isNotNull();
+
+        store.removeExpired(base + 7_000);
+        assertThat(store.find("a")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void removesOnlyTheTokensThatAreDue() {
+        save("soon", base + 2_000);
+        save("later", base + 8_000);
+
+        store.removeExpired(base + 4_000);
+
+        assertThat(store.find("soon")).isNull();
+        assertThat(store.find("later")).isNotNull();
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    void anExtendedTokenIsRescheduledInsteadOfRemoved() {
+        save("a", base + 5_000);
+        store.extend("a", base + 20_000);
+        assertThat(store.find("a").expiresAtMillis()).isEqualTo(base + 20_000);
+
+        // The old slot comes due, finds the token still valid and moves it to its new slot
+        store.removeExpired(base + 7_000);
+        assertThat(store.find("a")).isNotNull();
+        store.removeExpired(base + 15_000);
+        assertThat(store.find("a")).isNotNull();
+
+        store.removeExpired(base + 22_000);
+        assertThat(store.find("a")).isNull();
+    }
+
+    @Test
+    void extendIgnoresTokensThatAreGone() {
+        save("a", base + 5_000);
+        store.remove("a");
+
+        store.extend("a", base + 20_000);
+        store.removeExpired(base + 30_000);
+
+        assertThat(store.find("a")).isNull();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void aTokenBeyondOneRotationWaitsForALaterOne() {
+        // 50 seconds is more than the 32 second wheel, so its slot comes round once too early
+        save("a", base + 50_000);
+
+        store.removeExpired(base + 20_000);
+        assertThat(store.find("a")).isNotNull();
+        store.removeExpired(base + 40_000);
+        assertThat(store.find("a")).isNotNull();
+
+        store.removeExpired(base + 52_000);
+        assertThat(store.find("a")).isNull();
+    }
+
+    @Test
+    void catchesUpWithOneRotationAfterALongPause() {
+        for (int i = 0; i < 32; i++) {
+            save("t" + i, base + (i + 1) * TICK);
+        }
+        long resumedAt = base + 600_000;
+        save("fresh", resumedAt + 5_000);
+
+        store.removeExpired(resumedAt);
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.find("fresh")).isNotNull();
+
+        store.removeExpired(resumedAt + 7_000);
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void anEarlierClockDoesNotReprocessSlots() {
+        save("a", base + 5_000);
+        store.removeExpired(base + 3_000);
+
+        store.removeExpired(base + 1_000);
+        assertThat(store.find("a")).isNotNull();
+
+        store.removeExpired(base + 7_000);
+        assertThat(store.find("a")).isNull();
+    }
+}
@@ -0,0 +1,109 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.dto.AuthLoadStatsDTO;
+
+class LoginThrottleTests {
+
+    private final LoginThrottle throttle = new LoginThrottle(3, 5, 900);
+
+    @Test
+    void refusesAUsernameOnceItsAttemptsAreUsedUp() {
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("ann", "10.0.0.1")).isZero();
+        }
+
+        long retryAfter = throttle.tryAcquire("Ann", "10.0.0.2");
+
+        assertThat(retryAfter).isBetween(1L, 900L);
+        AuthLoadStatsDTO stats = new AuthLoadStatsDTO();
+        throttle.fillStats(stats);
+        assertThat(stats.getThrottledUsernames()).isEqualTo(1);
+        assertThat(stats.getThrottledLogins()).isEqualTo(1);
+    }
+
+    @Test
+    void refusesAnAddressAcrossUsernames() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("user" + i, "10.0.0.1")).isZero();
+        }
+
+        assertThat(throttle.tryAcquire("other", "10.0.0.1")).isPositive();
+        assertThat(throttle.tryAcquire("other", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void aRefusedAddressDoesNotUseUpTheUsername() {
+        for (int i = 0; i < 5; i++) {
+            throttle.tryAcquire("user" + i, "10.0.0.1");
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThat(throttle.tryAcquire("ann", "10.0.0.1")).isPositive();
+        }
+
+        assertThat(throttle.tryAcquire("ann", "10.0.0.2")).isZero();
+    }
+
+    @Test
+    void concurrentAttemptsCannotAllPassTheCheck() throws Exception {
+        int threads = 32;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<Long>> attempts = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                String address = "10.0.1." + i;
+                attempts.add(() -> throttle.tryAcquire("ann", address));
+            }
+            long admitted = 0;
+            for (Future<Long> result : executor.invokeAll(attempts)) {
+                if (result.get() == 0) {
+                    admitted++;
+                }
+            }
+            assertThat(admitted).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void successClearsTheUsernameButKeepsTheAddressFailures() {
+        throttle.tryAcquire("ann", "10.0.0.1");
+        throttle.tryAcquire("ann", "10.0.0.1");
+        assertThat(throttle.tryAcquire("ann", "10.0.0.1")).isZero();
+
+        throttle.recordSuccess("ann", "10.0.0.1");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("ann", "10.0.0.2")).isZero();
+        }
+        // Two failures remain on the first address, so three more attempts fill its five
+        for (int i = 0; i < 3; i++) {
+            assertThat(throttle.tryAcquire("bob" + i, "10.0.0.1")).isZero();
+        }
+        assertThat(throttle.tryAcquire("carl", "10.0.0.1")).isPositive();
+    }
+
+    @Test
+    void cancelledAttemptsDoNotCount() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(throttle.tryAcquire("ann", "10.0.0.1")).isZero();
+            throttle.cancel("ann", "10.0.0.1");
+        }
+
+        AuthLoadStatsDTO stats = new AuthLoadStatsDTO();
+        throttle.fillStats(stats);
+        assertThat(stats.getThrottledUsernames()).isZero();
+        assertThat(stats.getThrottledAddresses()).isZero();
+    }
+}
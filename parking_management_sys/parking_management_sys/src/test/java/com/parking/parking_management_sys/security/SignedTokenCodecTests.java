@@ -0,0 +1,98 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.security.SignedTokenCodec.Claims;
+
+class SignedTokenCodecTests {
+
+    private static final byte[] SECRET = "0123456789abcdef0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SignedTokenCodec codec = new SignedTokenCodec(SECRET);
+    private final Claims claims = new Claims("3f1c2a9e", "ann", "ADMIN", 1_700_000_000_000L);
+
+    // A token for an arbitrary payload, signed with the codec's secret
+    private static String signed(String payload) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(mac.doFinal(payloadBytes));
+    }
+
+    @Test
+    void decodesWhatItEncodes() {
+        String token = codec.encode(claims);
+
+        assertThat(codec.decode(token)).isEqualTo(claims);
+        assertThat(token).doesNotContain("=", "+", "/");
+    }
+
+    @Test
+    void keepsColonsInTheUsername() {
+        Claims colons = new Claims("id-1", "fleet:gate:7", "USER", 42L);
+
+        assertThat(codec.decode(codec.encode(colons))).isEqualTo(colons);
+    }
+
+    @Test
+    void leavesExpiryToTheCaller() {
+        Claims expired = new Claims("id-1", "ann", "USER", 1L);
+
+        assertThat(codec.decode(codec.encode(expired))).isEqualTo(expired);
+    }
+
+    @Test
+    void rejectsATamperedPayload() {
+        String token = codec.encode(claims);
+        String signature = token.substring(token.indexOf('.') + 1);
+        String forgedPayload = ENCODER.encodeToString("1700000000000:ADMIN:3f1c2a9e:bob".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(codec.decode(forgedPayload + "." + signature)).isNull();
+    }
+
+    @Test
+    void rejectsATamperedSignature() {
+        String token = codec.encode(claims);
+        char last = token.charAt(token.length() - 2);
+        String tampered = token.substring(0, token.length() - 2) + (last == 'A' ? 'B' : 'A') + token.charAt(token.length() - 1);
+
+        assertThat(codec.decode(tampered)).isNull();
+        assertThat(codec.decode(token.substring(0, token.length() - 1))).isNull();
+    }
+
+    @Test
+    void rejectsATokenSignedWithAnotherSecret() {
+        SignedTokenCodec other = new SignedTokenCodec("fedcba9876543210fedcba9876543210".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(codec.decode(other.encode(claims))).isNull();
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        String token = codec.encode(claims);
+
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("no-dot-at-all")).isNull();
+        assertThat(codec.decode(token.substring(token.indexOf('.')))).isNull();
+        assertThat(codec.decode(token + ".extra")).isNull();
+        assertThat(codec.decode("*not base64*.*either*")).isNull();
+        assertThat(codec.decode(UUID.randomUUID().toString())).isNull();
+    }
+
+    @Test
+    void rejectsSignedPayloadsWithMissingOrInvalidFields() throws Exception {
+        assertThat(codec.decode(signed("1700000000000:ADMIN:3f1c2a9e"))).isNull();
+        assertThat(codec.decode(signed("soon:ADMIN:3f1c2a9e:ann"))).isNull();
+        assertThat(codec.decode(signed("1700000000000:ADMIN:3f1c2a9e:ann"))).isEqualTo(claims);
+    }
+}
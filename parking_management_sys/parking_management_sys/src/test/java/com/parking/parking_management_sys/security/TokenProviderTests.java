@@ -0,0 +1,96 @@
+package com.parking.parking_management_sys.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.security.TokenProvider.TokenPrincipal;
+
+class TokenProviderTests {
+
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final InMemoryTokenStore store = new InMemoryTokenStore(1_800_000, 1_000);
+
+    private TokenProvider signed(long ttlMinutes) {
+        return new TokenProvider(store, ttlMinutes, false, 1_000, "signed", SECRET);
+    }
+
+    @Test
+    void signedTokensAuthenticateWithoutTheStore() {
+        TokenProvider provider = signed(30);
+
+        String token = provider.generateToken("ann", "ADMIN");
+
+        assertThat(provider.authenticate(token)).isEqualTo(new TokenPrincipal("ann", "ADMIN"));
+        assertThat(store.size()).isZero();
+        assertThat(provider.getActiveTokenCount()).isZero();
+    }
+
+    @Test
+    void signedTokensVerifyOnAnyInstanceSharingTheSecret() {
+        String token = signed(30).generateToken("ann", "USER");
+
+        assertThat(signed(30).authenticate(token)).isEqualTo(new TokenPrincipal("ann", "USER"));
+    }
+
+    @Test
+    void invalidateRevokesOnlyThatSignedToken() {
+        TokenProvider provider = signed(30);
+        String revoked = provider.generateToken("ann", "USER");
+        String other = provider.generateToken("ann", "USER");
+
+        provider.invalidateToken(revoked);
+
+        assertThat(provider.authenticate(revoked)).isNull();
+        assertThat(provider.validateToken(other)).isTrue();
+        assertThat(provider.getRevokedTokenCount()).isEqualTo(1);
+    }
+
+    @Test
+    void revocationsOutliveTheExpiryRunUntilTheTokenExpires() {
+        TokenProvider provider = signed(30);
+        String token = provider.generateToken("ann", "USER");
+        provider.invalidateToken(token);
+
+        provider.expireTokens();
+
+        assertThat(provider.getRevokedTokenCount()).isEqualTo(1);
+        assertThat(provider.authenticate(token)).isNull();
+    }
+
+    @Test
+    void doesNotRecordRevocationsForExpiredOrInvalidTokens() {
+        TokenProvider provider = signed(0);
+        String expired = provider.generateToken("ann", "USER");
+
+        provider.invalidateToken(expired);
+        provider.invalidateToken("not-a-token");
+
+        assertThat(provider.authenticate(expired)).isNull();
+        assertThat(provider.getRevokedTokenCount()).isZero();
+    }
+
+    @Test
+    void invalidateRemovesOpaqueTokensFromTheStore() {
+        TokenProvider provider = new TokenProvider(store, 30, false, 1_000, "opaque", "");
+        String token = provider.generateToken("ann", "USER");
+        assertThat(provider.getActiveTokenCount()).isEqualTo(1);
+
+        provider.invalidateToken(token);
+
+        assertThat(provider.authenticate(token)).isNull();
+        assertThat(provider.getActiveTokenCount()).isZero();
+        assertThat(provider.getRevokedTokenCount()).isZero();
+    }
+
+    @Test
+    void rejectsShortSecretsAndUnknownModes() {
+        assertThatThrownBy(() -> new TokenProvider(store, 30, false, 1_000, "signed", "too-short"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("32 bytes");
+        assertThatThrownBy(() -> new TokenProvider(store, 30, false, 1_000, "jwt", SECRET))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
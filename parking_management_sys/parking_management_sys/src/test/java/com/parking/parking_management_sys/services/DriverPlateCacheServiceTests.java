@@ -0,0 +1,88 @@
+package com.parking.parking_management_sys.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.parking.parking_management_sys.entities.Driver;
+import com.parking.parking_management_sys.repository.DriverRepository;
+import com.parking.parking_management_sys.services.DriverPlateCacheService.DriverSnapshot;
+
+class DriverPlateCacheServiceTests {
+
+    private final DriverRepository driverRepository = mock(DriverRepository.class);
+    private final DriverPlateCacheService service = new DriverPlateCacheService(driverRepository, 100, 600, 60);
+
+    private static Driver driver(String plate) {
+        return Driver.builder().driverId(7L).name("Ann Lee").licensePlate(plate).active(true).build();
+    }
+
+    @Test
+    void servesRepeatedLookupsFromTheCacheInAnyCase() {
+        when(driverRepository.findByLicensePlate("ABC123")).thenReturn(Optional.of(driver("ABC123")));
+
+        Optional<DriverSnapshot> first = service.find("abc123");
+        Optional<DriverSnapshot> second = service.find(" ABC123 ");
+
+        assertThat(first).map(DriverSnapshot::driverId).contains(7L);
+        assertThat(second).isEqualTo(first);
+        verify(driverRepository, times(1)).findByLicensePlate("ABC123");
+        assertThat(service.stats().getHits()).isEqualTo(1);
+    }
+
+    @Test
+    void cachesUnknownPlatesAsNegativeHits() {
+        when(driverRepository.findByLicensePlate("NONE1")).thenReturn(Optional.empty());
+
+        assertThat(service.find("NONE1")).isEmpty();
+        assertThat(service.find("NONE1")).isEmpty();
+
+        verify(driverRepository, times(1)).findByLicensePlate("NONE1");
+        assertThat(service.stats().getNegativeHits()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateForgetsACachedPlate() {
+        when(driverRepository.findByLicensePlate("ABC123")).thenReturn(Optional.of(driver("ABC123")));
+        service.find("ABC123");
+
+        service.invalidate("abc123");
+        service.find("ABC123");
+
+        verify(driverRepository, times(2)).findByLicensePlate("ABC123");
+    }
+
+    @Test
+    void doesNotCacheALoadThatRacedWithAnInvalidation() {
+        // The driver changes while the lookup is reading it, so the loaded row may be stale
+        when(driverRepository.findByLicensePlate("ABC123")).thenAnswer(invocation -> {
+            service.invalidate("ABC123");
+            return Optional.of(driver("ABC123"));
+        });
+
+        assertThat(service.find("ABC123")).isPresent();
+        assertThat(service.stats().getSize()).isZero();
+
+        service.find("ABC123");
+        verify(driverRepository, times(2)).findByLicensePlate("ABC123");
+    }
+
+    @Test
+    void anInvalidationOfAnotherPlateAlsoSkipsCachingTheLoad() {
+        // The generation is cache-wide, so any invalidation during a load is enough to drop it
+        when(driverRepository.findByLicensePlate("ABC123")).thenAnswer(invocation -> {
+            service.invalidate("XYZ999");
+            return Optional.of(driver("ABC123"));
+        });
+
+        service.find("ABC123");
+
+        assertThat(service.stats().getSize()).isZero();
+    }
+}
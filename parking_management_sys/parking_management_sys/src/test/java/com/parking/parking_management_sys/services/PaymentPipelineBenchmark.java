@@ -0,0 +1,100 @@
+package com.parking.parking_management_sys.services;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import com.parking.parking_management_sys.entities.Payment;
+import com.parking.parking_management_sys.entities.Payment.PaymentMethod;
+import com.parking.parking_management_sys.gateway.LocalPaymentGateway;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeRequest;
+import com.parking.parking_management_sys.gateway.PaymentGateway.ChargeResult;
+import com.parking.parking_management_sys.util.Money;
+
+/**
+ * Throughput comparison between synchronous processing (connection held across the gateway call)
+ * and {@link PaymentProcessingPipeline}. Not a unit test; run with
+ * {@code java -cp target/classes:target/test-classes:<deps> ...PaymentPipelineBenchmark [payments] [gatewayMs] [dbMs]}.
+ * Ten permits stand in for the Hikari pool; each DB step sleeps {@code dbMs}.
+ */
+public class PaymentPipelineBenchmark {
+
+    private static final int POOL_SIZE = 10;
+
+    public static void main(String[] args) throws Exception {
+        int payments = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        long gatewayMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+        long dbMillis = args.length > 2 ? Long.parseLong(args[2]) : 2;
+
+        LocalPaymentGateway gateway = new LocalPaymentGateway(gatewayMillis, 0.0);
+        Semaphore connections = new Semaphore(POOL_SIZE);
+
+        // Synchronous: one request thread per connection, connection held for the gateway round trip
+        ExecutorService requestThreads = Executors.newFixedThreadPool(POOL_SIZE);
+        long start = System.nanoTime();
+        for (long id = 1; id <= payments; id++) {
+            long paymentId = id;
+            requestThreads.execute(() -> {
+                connections.acquireUninterruptibly();
+                try {
+                    sleep(dbMillis);
+                    gateway.charge(new ChargeRequest(paymentId, Money.ofCents(1000), PaymentMethod.CASH, null));
+                    sleep(dbMillis);
+                } finally {
+                    connections.release();
+                }
+            });
+        }
+        requestThreads.shutdown();
+        requestThreads.awaitTermination(1, TimeUnit.HOURS);
+        report("synchronous", payments, System.nanoTime() - start);
+
+        // Pipeline: connection only held inside the two short transactions
+        PaymentService stubService = new PaymentService() {
+            @Override
+            public ChargeRequest prepareProcessing(Long id) {
+                withConnection(connections, dbMillis);
+                return new ChargeRequest(id, Money.ofCents(1000), PaymentMethod.CASH, null);
+            }
+
+            @Override
+            public Payment completeProcessing(Long id, ChargeResult result) {
+                withConnection(connections, dbMillis);
+                return null;
+            }
+        };
+        PaymentProcessingPipeline pipeline = new PaymentProcessingPipeline(stubService, gateway, new PaymentChargeClaims(), 256, payments, 60);
+        start = System.nanoTime();
+        for (long id = 1; id <= payments; id++) {
+            pipeline.submit(id);
+        }
+        while (pipeline.getPendingCount() > 0) {
+            Thread.sleep(1);
+        }
+        report("virtual-thread pipeline", payments, System.nanoTime() - start);
+        pipeline.shutdown();
+    }
+
+    private static void withConnection(Semaphore connections, long millis) {
+        connections.acquireUninterruptibly();
+        try {
+            sleep(millis);
+        } finally {
+            connections.release();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void report(String name, int payments, long nanos) {
+        double seconds = nanos / 1e9;
+        System.out.printf("%-24s %6d payments in %7.2f s  (%8.1f payments/s)%n", name, payments, seconds, payments / seconds);
+    }
+}
@@ -0,0 +1,144 @@
+package com.parking.parking_management_sys.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTests {
+
+    private static final long TTL = 60_000;
+
+    @Test
+    void neverHoldsMoreEntriesThanItsCapacity() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3);
+        for (int i = 0; i < 10; i++) {
+            cache.put("key-" + i, i, TTL);
+        }
+
+        BoundedCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(3);
+        assertThat(stats.rejections()).isEqualTo(7);
+        assertThat(cache.get("key-0")).isZero();
+    }
+
+    @Test
+    void replacesAnExistingKeyWithoutAdmission() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1);
+        cache.put("a", 1, TTL);
+        cache.put("a", 2, TTL);
+
+        assertThat(cache.get("a")).isEqualTo(2);
+        assertThat(cache.stats().rejections()).isZero();
+    }
+
+    @Test
+    void expiredEntriesAreMissesAndDropped() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1, 0);
+        cache.put("b", 2, TTL);
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+        BoundedCache.Stats stats = cache.stats();
+        assertThat(stats.size()).isEqualTo(1);
+        assertThat(stats.hits()).isEqualTo(1);
+        assertThat(stats.misses()).isEqualTo(1);
+        assertThat(stats.hitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void anExpiredVictimIsEvictedWhateverTheFrequencies() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(1);
+        cache.put("a", 1, 0);
+        cache.put("b", 2, TTL);
+
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+        assertThat(cache.stats().rejections()).isZero();
+    }
+
+    @Test
+    void admitsAKeyRequestedMoreOftenThanTheLeastRecentlyUsedEntry() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1, TTL);
+        cache.put("b", 2, TTL);
+        for (int i = 0; i < 3; i++) {
+            assertThat(cache.get("c")).isNull();
+        }
+
+        cache.put("c", 3, TTL);
+
+        assertThat(cache.get("c")).isEqualTo(3);
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAOneOffKeyWhenTheEntriesAreUsedMoreOften() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+        cache.put("a", 1, TTL);
+        cache.put("b", 2, TTL);
+        for (int i = 0; i < 3; i++) {
+            cache.get("a");
+            cache.get("b");
+        }
+
+        cache.put("x", 9, TTL);
+
+        BoundedCache.Stats stats = cache.stats();
+        assertThat(stats.rejections()).isEqualTo(1);
+        assertThat(stats.evictions()).isZero();
+        assertThat(cache.get("a")).isEqualTo(1);
+        assertThat(cache.get("b")).isEqualTo(2);
+        assertThat(cache.get("x")).isNull();
+    }
+
+    @Test
+    void oldPopularityFadesWhenTheSketchIsHalved() {
+        int capacity = 100;
+        BoundedCache<String, Integer> cache = new BoundedCache<>(capacity);
+        for (int i = 0; i < capacity; i++) {
+            cache.put("hot-" + i, i, TTL);
+        }
+        // 800 counted accesses, below the 10 * capacity that triggers a reset
+        for (int round = 0; round < 8; round++) {
+            for (int i = 0; i < capacity; i++) {
+                cache.get("hot-" + i);
+            }
+        }
+        for (int i = 0; i < 3; i++) {
+            cache.get("early");
+        }
+        cache.put("early", -1, TTL);
+        assertThat(cache.get("early")).isNull();
+        assertThat(cache.stats().rejections()).isEqualTo(1);
+
+        // One-off lookups push the sketch through several resets, each halving the hot counters
+        for (int i = 0; i < 2_000; i++) {
+            cache.get("noise-" + i);
+        }
+        for (int i = 0; i < 3; i++) {
+            cache.get("late");
+        }
+        cache.put("late", -2, TTL);
+
+        assertThat(cache.get("late")).isEqualTo(-2);
+        assertThat(cache.stats().size()).isEqualTo(capacity);
+        assertThat(cache.stats().evictions()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidateRemovesEntries() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(4);
+        cache.put("a", 1, TTL);
+        cache.put("b", 2, TTL);
+
+        cache.invalidate("a");
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isEqualTo(2);
+
+        cache.invalidateAll();
+        assertThat(cache.stats().size()).isZero();
+    }
+}
@@ -0,0 +1,112 @@
+package com.parking.parking_management_sys.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class MoneyTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parsesDecimalAmountsIntoCents() {
+        assertThat(Money.parse("12.50").cents()).isEqualTo(1250);
+        assertThat(Money.parse("12.5").cents()).isEqualTo(1250);
+        assertThat(Money.parse(" 7 ").cents()).isEqualTo(700);
+        assertThat(Money.parse("0.01").cents()).isEqualTo(1);
+        assertThat(Money.parse("-3.25").cents()).isEqualTo(-325);
+    }
+
+    @Test
+    void acceptsTrailingZerosBeyondTwoDecimals() {
+        assertThat(Money.parse("1.000").cents()).isEqualTo(100);
+        assertThat(Money.parse("1E+2").cents()).isEqualTo(10000);
+    }
+
+    @Test
+    void rejectsFractionsOfACentInsteadOfRounding() {
+        assertThatThrownBy(() -> Money.parse("1.005"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("two decimal places");
+        assertThatThrownBy(() -> Money.of(new BigDecimal("0.001")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void rejectsMalformedAndOutOfRangeAmounts() {
+        assertThatThrownBy(() -> Money.parse("12,50")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("100000000000000000000"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void addsAndSubtractsExactly() {
+        Money tenCents = Money.parse("0.10");
+        Money twentyCents = Money.parse("0.20");
+
+        // The sum that double arithmetic gets wrong
+        assertThat(tenCents.plus(twentyCents)).isEqualTo(Money.parse("0.30"));
+        assertThat(tenCents.minus(twentyCents)).isEqualTo(Money.ofCents(-10));
+        assertThat(Money.ZERO.plus(tenCents)).isEqualTo(tenCents);
+    }
+
+    @Test
+    void arithmeticOverflowFailsInsteadOfWrapping() {
+        assertThatThrownBy(() -> Money.ofCents(Long.MAX_VALUE).plus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.ofCents(Long.MIN_VALUE).minus(Money.ofCents(1)))
+                .isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void comparesAndReportsSign() {
+        assertThat(Money.parse("2.00")).isGreaterThan(Money.parse("1.99"));
+        assertThat(Money.parse("1.50").compareTo(Money.ofCents(150))).isZero();
+        assertThat(Money.ofCents(1).isPositive()).isTrue();
+        assertThat(Money.ZERO.isPositive()).isFalse();
+        assertThat(Money.ofCents(-1).isPositive()).isFalse();
+    }
+
+    @Test
+    void nullableCentsStayNull() {
+        assertThat(Money.ofCents((Long) null)).isNull();
+        assertThat(Money.ofCents(Long.valueOf(42))).isEqualTo(Money.ofCents(42));
+    }
+
+    @Test
+    void printsTwoDecimalPlaces() {
+        assertThat(Money.ofCents(1250).toString()).isEqualTo("12.50");
+        assertThat(Money.ofCents(5).toString()).isEqualTo("0.05");
+        assertThat(Money.ofCents(-5).toString()).isEqualTo("-0.05");
+        assertThat(Money.ofCents(1250).toBigDecimal()).isEqualTo(new BigDecimal("12.50"));
+    }
+
+    @Test
+    void serializesAsExactJsonNumber() throws Exception {
+        assertThat(objectMapper.writeValueAsString(Money.ofCents(1250))).isEqualTo("12.50");
+        assertThat(objectMapper.writeValueAsString(Money.ZERO)).isEqualTo("0.00");
+        assertThat(objectMapper.writeValueAsString(new Amount(Money.ofCents(199)))).isEqualTo("{\"total\":1.99}");
+    }
+
+    @Test
+    void deserializesJsonNumbersAndStringsWithoutBinaryRounding() throws Exception {
+        assertThat(objectMapper.readValue("0.1", Money.class)).isEqualTo(Money.ofCents(10));
+        assertThat(objectMapper.readValue("12.5", Money.class)).isEqualTo(Money.ofCents(1250));
+        assertThat(objectMapper.readValue("\"3.07\"", Money.class)).isEqualTo(Money.ofCents(307));
+        assertThat(objectMapper.readValue("{\"total\":19.99}", Amount.class).total()).isEqualTo(Money.ofCents(1999));
+    }
+
+    @Test
+    void deserializationRejectsFractionsOfACent() {
+        assertThatThrownBy(() -> objectMapper.readValue("1.999", Money.class))
+                .hasRootCauseInstanceOf(IllegalArgumentException.class);
+    }
+
+    record Amount(Money total) {
+    }
+}